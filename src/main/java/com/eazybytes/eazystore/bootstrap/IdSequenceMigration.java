@@ -0,0 +1,107 @@
+package com.eazybytes.eazystore.bootstrap;
+
+import com.eazybytes.eazystore.constants.ApplicationConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Creates the id sequences of the entities that moved from IDENTITY columns to pooled
+ * sequence ids, starting above the highest id already in their table. It runs before the
+ * EntityManagerFactory is built, so Hibernate's schema update finds the sequences in
+ * place instead of creating them at 1. Existing sequences are left untouched.
+ * <p>
+ * A legacy identity column is replaced by a default drawing from the same sequence, in
+ * one transaction that holds the table lock, so nodes still running the IDENTITY mapping
+ * during a rolling deploy keep inserting without their ids colliding with pooled ones.
+ */
+@Slf4j
+@Component(IdSequenceMigration.BEAN_NAME)
+@RequiredArgsConstructor
+public class IdSequenceMigration implements InitializingBean {
+
+    static final String BEAN_NAME = "idSequenceMigration";
+
+    private static final List<IdSequence> SEQUENCES = List.of(
+            new IdSequence("customers_seq", "customers", "customer_id"),
+            new IdSequence("contacts_seq", "contacts", "contact_id"),
+            new IdSequence("orders_seq", "orders", "order_id"),
+            new IdSequence("order_items_seq", "order_items", "order_item_id"));
+
+    private final DataSource dataSource;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        for (IdSequence sequence : SEQUENCES) {
+            if (!tableExists(sequence.table())) {
+                createSequence(jdbcTemplate, sequence, 1);
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                boolean identity = isIdentity(jdbcTemplate, sequence);
+                if (identity) {
+                    // Blocks inserts through the identity until the default is in place
+                    jdbcTemplate.execute("ALTER TABLE " + sequence.table()
+                            + " ALTER COLUMN " + sequence.idColumn() + " DROP IDENTITY");
+                }
+                Long maxId = jdbcTemplate.queryForObject(
+                        "SELECT MAX(" + sequence.idColumn() + ") FROM " + sequence.table(), Long.class);
+                createSequence(jdbcTemplate, sequence, maxId == null ? 1 : maxId + 1);
+                if (identity) {
+                    jdbcTemplate.execute("ALTER TABLE " + sequence.table() + " ALTER COLUMN " + sequence.idColumn()
+                            + " SET DEFAULT nextval('" + sequence.name() + "')");
+                    log.info("Replaced the identity of {}.{} by sequence {}",
+                            sequence.table(), sequence.idColumn(), sequence.name());
+                }
+            });
+        }
+    }
+
+    private void createSequence(JdbcTemplate jdbcTemplate, IdSequence sequence, long startWith) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence.name()
+                + " START WITH " + startWith + " INCREMENT BY " + ApplicationConstants.ID_ALLOCATION_SIZE);
+        log.debug("Ensured sequence {} starting at {}", sequence.name(), startWith);
+    }
+
+    private boolean isIdentity(JdbcTemplate jdbcTemplate, IdSequence sequence) {
+        String isIdentity = jdbcTemplate.query("SELECT is_identity FROM information_schema.columns "
+                        + "WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                rs -> rs.next() ? rs.getString(1) : null, sequence.table(), sequence.idColumn());
+        return "YES".equalsIgnoreCase(isIdentity);
+    }
+
+    private boolean tableExists(String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData()
+                     .getTables(connection.getCatalog(), connection.getSchema(), table, new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private record IdSequence(String name, String table, String idColumn) {
+    }
+
+    /**
+     * Makes the EntityManagerFactory wait for the sequences to exist.
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnIdSequenceMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnIdSequenceMigration() {
+            super(BEAN_NAME);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.eazybytes.eazystore.bootstrap;
+
+import com.eazybytes.eazystore.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate creates the orders table with a check constraint listing the order statuses
+ * known at the time, and its schema update never widens it. When a status was added to
+ * {@link OrderStatus} since, this replaces the constraint with one listing all of them.
+ * It runs before the EntityManagerFactory is built and does nothing when the constraint
+ * is current or absent.
+ */
+@Slf4j
+@Component(OrderStatusCheckMigration.BEAN_NAME)
+@RequiredArgsConstructor
+public class OrderStatusCheckMigration implements InitializingBean {
+
+    static final String BEAN_NAME = "orderStatusCheckMigration";
+
+    private static final String CONSTRAINT_NAME = "orders_order_status_check";
+
+    private final DataSource dataSource;
+
+    @Override
+    public void afterPropertiesSet() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<String> checkClauses = jdbcTemplate.queryForList(
+                "SELECT check_clause FROM information_schema.check_constraints WHERE constraint_name = ?",
+                String.class, CONSTRAINT_NAME);
+        if (checkClauses.isEmpty()) {
+            return;
+        }
+        String checkClause = checkClauses.get(0);
+        boolean current = Arrays.stream(OrderStatus.values())
+                .allMatch(status -> checkClause.contains("'" + status.name() + "'"));
+        if (current) {
+            return;
+        }
+        String statuses = Arrays.stream(OrderStatus.values())
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE orders DROP CONSTRAINT " + CONSTRAINT_NAME);
+        jdbcTemplate.execute("ALTER TABLE orders ADD CONSTRAINT " + CONSTRAINT_NAME
+                + " CHECK (order_status IN (" + statuses + "))");
+        log.info("Widened {} to the order statuses {}", CONSTRAINT_NAME, statuses);
+    }
+
+    /**
+     * Makes the EntityManagerFactory wait for the constraint to be current.
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnOrderStatusCheckMigration
+            extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnOrderStatusCheckMigration() {
+            super(BEAN_NAME);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.eazybytes.eazystore.bootstrap;
+
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.repository.ProductRepository;
+import com.eazybytes.eazystore.util.ProductAttributeNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * One-off job normalizing the colors and sizes of products written before they were
+ * normalized on save. Enable it for a single start-up with
+ * {@code eazystore.migrations.normalize-product-attributes=true}; it is idempotent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "eazystore.migrations.normalize-product-attributes", havingValue = "true")
+public class ProductAttributeMigration implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        int pageNumber = 0;
+        int updated = 0;
+        boolean hasNext = true;
+        while (hasNext) {
+            PageRequest pageRequest = PageRequest.of(pageNumber++, BATCH_SIZE, Sort.by("id"));
+            // One transaction per batch keeps the persistence context and locks small
+            BatchResult result = transactionTemplate.execute(status -> {
+                Page<Product> page = productRepository.findAll(pageRequest);
+                int changed = 0;
+                for (Product product : page) {
+                    if (normalize(product)) {
+                        changed++;
+                    }
+                }
+                return new BatchResult(changed, page.hasNext());
+            });
+            updated += result.changed();
+            hasNext = result.hasNext();
+        }
+        log.info("Normalized colors and sizes of {} products", updated);
+    }
+
+    private boolean normalize(Product product) {
+        List<String> colors = ProductAttributeNormalizer.normalizeColors(product.getColors());
+        List<String> sizes = ProductAttributeNormalizer.normalizeSizes(product.getSizes());
+        if (colors.equals(product.getColors()) && sizes.equals(product.getSizes())) {
+            return false;
+        }
+        // Dirty checking flushes the changed collections on commit
+        product.setColors(colors);
+        product.setSizes(sizes);
+        return true;
+    }
+
+    private record BatchResult(int changed, boolean hasNext) {
+    }
+}
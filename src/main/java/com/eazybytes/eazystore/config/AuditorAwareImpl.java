@@ -6,6 +6,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.security.Principal;
 import java.util.Optional;
 
 @Component("auditorAwareImpl")
@@ -24,6 +25,8 @@ public class AuditorAwareImpl implements AuditorAware<String> {
 
         if (principal instanceof Customer customer) {
             username = customer.getEmail();
+        } else if (principal instanceof Principal namedPrincipal) {
+            username = namedPrincipal.getName();
         } else {
             username = principal.toString(); // fallback
         }
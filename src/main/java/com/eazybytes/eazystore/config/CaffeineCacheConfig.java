@@ -1,25 +1,65 @@
 package com.eazybytes.eazystore.config;
 
+import com.eazybytes.eazystore.dto.ProductCatalogQuery;
+import com.eazybytes.eazystore.service.impl.ProductServiceImpl;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.Arrays;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class CaffeineCacheConfig {
 
+    /**
+     * The product caches are loading caches: a miss runs a single load per key while
+     * concurrent readers of the same key wait for its result, and a hot entry older than
+     * refreshAfterWrite is reloaded in the background on its next read while the old value
+     * keeps being served. The loaders call the uncached load methods of the service.
+     * Statistics are recorded so Spring Boot binds them to the cache.* metrics.
+     */
     @Bean
-    public CacheManager caffeineCacheManager() {
+    public CacheManager caffeineCacheManager(ObjectProvider<ProductServiceImpl> productService,
+            MeterRegistry meterRegistry,
+            @Qualifier("cacheRefreshExecutor") ThreadPoolTaskExecutor cacheRefreshExecutor) {
         CaffeineCache productsCache = new CaffeineCache("products",
                 Caffeine.newBuilder()
+                        .refreshAfterWrite(5, TimeUnit.MINUTES)
+                        .expireAfterWrite(30, TimeUnit.MINUTES)
+                        .maximumSize(1)
+                        .executor(cacheRefreshExecutor)
+                        .recordStats()
+                        .build(new MeteredCacheLoader("products", meterRegistry,
+                                key -> productService.getObject().loadProducts(false))));
+
+        CaffeineCache productByIdCache = new CaffeineCache("productById",
+                Caffeine.newBuilder()
+                        .refreshAfterWrite(5, TimeUnit.MINUTES)
                         .expireAfterWrite(30, TimeUnit.MINUTES)
                         .maximumSize(1000)
-                        .build());
+                        .executor(cacheRefreshExecutor)
+                        .recordStats()
+                        .build(new MeteredCacheLoader("productById", meterRegistry,
+                                key -> productService.getObject().loadProductById((Long) key, false))));
+
+        CaffeineCache productCatalogCache = new CaffeineCache("productCatalog",
+                Caffeine.newBuilder()
+                        .refreshAfterWrite(2, TimeUnit.MINUTES)
+                        .expireAfterWrite(10, TimeUnit.MINUTES)
+                        .maximumSize(500)
+                        .executor(cacheRefreshExecutor)
+                        .recordStats()
+                        .build(new MeteredCacheLoader("productCatalog", meterRegistry,
+                                key -> productService.getObject().loadProductCatalog((ProductCatalogQuery) key))));
 
         CaffeineCache rolesCache = new CaffeineCache("roles",
                 Caffeine.newBuilder()
@@ -27,10 +67,34 @@ public class CaffeineCacheConfig {
                         .maximumSize(1)
                         .build());
 
+        // Credential-free customer profiles, evicted when the profile is updated
+        CaffeineCache customersCache = new CaffeineCache("customers",
+                Caffeine.newBuilder()
+                        .expireAfterWrite(1, TimeUnit.MINUTES)
+                        .maximumSize(10_000)
+                        .recordStats()
+                        .build());
+
         SimpleCacheManager manager = new SimpleCacheManager();
-        manager.setCaches(Arrays.asList(productsCache, rolesCache));
+        manager.setCaches(Arrays.asList(productsCache, productByIdCache, productCatalogCache, rolesCache,
+                customersCache));
         return manager;
 
 
     }
+
+    /**
+     * Runs background refreshes of the caches, bounded so a burst of stale keys cannot
+     * flood the database. When saturated a refresh runs on the reading thread instead.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
 }
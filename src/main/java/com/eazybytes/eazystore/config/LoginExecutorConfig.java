@@ -0,0 +1,32 @@
+package com.eazybytes.eazystore.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class LoginExecutorConfig {
+
+    @Value("${eazystore.security.login.threads:0}")
+    private int loginThreads;
+
+    @Value("${eazystore.security.login.queue-capacity:64}")
+    private int queueCapacity;
+
+    /**
+     * Runs the CPU-bound password verification of logins, sized to the cores so a burst
+     * of logins cannot occupy the request threads serving other traffic. A full queue
+     * rejects the task right away and the login is answered with 503.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor loginExecutor() {
+        int threads = loginThreads > 0 ? loginThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        return executor;
+    }
+}
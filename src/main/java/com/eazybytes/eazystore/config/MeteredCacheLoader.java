@@ -0,0 +1,44 @@
+package com.eazybytes.eazystore.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Cache loader that records how long loads take and how many run at the same time.
+ * Caffeine runs at most one load per key and lets concurrent readers of that key wait
+ * for it, so under a stampede the active count stays at the number of distinct keys.
+ */
+public class MeteredCacheLoader implements CacheLoader<Object, Object> {
+
+    private final Function<Object, Object> delegate;
+    private final Timer loadTimer;
+    private final AtomicInteger activeLoads = new AtomicInteger();
+
+    public MeteredCacheLoader(String cacheName, MeterRegistry meterRegistry, Function<Object, Object> delegate) {
+        this.delegate = delegate;
+        this.loadTimer = Timer.builder("cache.loader.duration")
+                .description("Time taken to load a cache entry from its source")
+                .tag("cache", cacheName)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("cache.loader.active", activeLoads, AtomicInteger::get)
+                .description("Number of cache loads currently in progress")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Object load(Object key) {
+        activeLoads.incrementAndGet();
+        try {
+            return loadTimer.record(() -> delegate.apply(key));
+        } finally {
+            activeLoads.decrementAndGet();
+        }
+    }
+}
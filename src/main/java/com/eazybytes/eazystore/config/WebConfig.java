@@ -1,9 +1,40 @@
 package com.eazybytes.eazystore.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
-public class WebConfig {
+public class WebConfig implements WebMvcConfigurer {
     // CORS configuration has been moved to EazyStoreSecurityConfig
     // to avoid duplicate bean definition
+
+    @Value("${eazystore.web.async.threads:4}")
+    private int asyncThreads;
+
+    @Value("${eazystore.web.async.queue-capacity:50}")
+    private int queueCapacity;
+
+    /**
+     * Runs streamed responses such as the NDJSON order export. Spring Boot only provides
+     * its own task executor when no other Executor bean exists, and without one MVC would
+     * start a new thread per request. A full queue rejects the request with 503.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncThreads);
+        executor.setMaxPoolSize(asyncThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
 }
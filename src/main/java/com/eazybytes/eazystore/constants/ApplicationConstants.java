@@ -14,6 +14,14 @@ public class ApplicationConstants {
     public static final String  ORDER_STATUS_CREATED = "CREATED";
     public static final String  ORDER_STATUS_CANCELLED = "CANCELLED";
 
+    public static final String  PRODUCT_IMAGES_DIR = "uploads/products-images/";
+
+    /**
+     * Ids handed out per sequence call for the sequence-generated entities; must equal the
+     * INCREMENT BY of their database sequences.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     public static final String  OPEN_MESSAGE = "OPEN";
     public static final String  CLOSED_MESSAGE = "CLOSED";
 }
@@ -1,15 +1,26 @@
 package com.eazybytes.eazystore.controller;
 
 import com.eazybytes.eazystore.constants.ApplicationConstants;
+import com.eazybytes.eazystore.dto.AdminOrderPageDto;
+import com.eazybytes.eazystore.dto.AdminOrderQuery;
+import com.eazybytes.eazystore.dto.BulkOrderStatusRequestDto;
+import com.eazybytes.eazystore.dto.BulkOrderStatusResultDto;
 import com.eazybytes.eazystore.dto.ContactResponseDto;
 import com.eazybytes.eazystore.dto.OrderResponseDto;
 import com.eazybytes.eazystore.dto.ResponseDto;
+import com.eazybytes.eazystore.dto.UnfulfilledPaymentDto;
 import com.eazybytes.eazystore.entity.Order;
 import com.eazybytes.eazystore.service.IContactService;
 import com.eazybytes.eazystore.service.IOrderService;
+import com.eazybytes.eazystore.service.IUnfulfilledPaymentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,12 +31,51 @@ public class AdminController {
 
     private final IOrderService iOrderService;
     private final IContactService iContactService;
+    private final IUnfulfilledPaymentService iUnfulfilledPaymentService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/orders")
     public ResponseEntity<List<OrderResponseDto>> getAllPendingOrders() {
         return ResponseEntity.ok().body(iOrderService.getAllPendingOrders());
     }
 
+    /**
+     * Orders by status, date range and customer, oldest first, e.g.
+     * {@code /api/v1/admin/orders/page?status=PENDING&from=2025-01-01T00:00:00Z&pageSize=100}.
+     * Pass {@code page} for offset paging, or follow {@code nextCursor} via {@code cursor}.
+     */
+    @GetMapping("/orders/page")
+    public ResponseEntity<AdminOrderPageDto> getOrderPage(@ModelAttribute AdminOrderQuery query) {
+        return ResponseEntity.ok(iOrderService.getAdminOrderPage(query));
+    }
+
+    /**
+     * Same filters as {@link #getOrderPage}, written as one JSON order per line while the
+     * keyset pages are read, so any number of orders streams in constant memory. The
+     * first page is read up front so invalid filters are still answered with 400.
+     */
+    @GetMapping(value = "/orders/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrders(@ModelAttribute AdminOrderQuery query) {
+        AdminOrderQuery keysetQuery = query.withCursor(query.cursor());
+        AdminOrderPageDto firstPage = iOrderService.getAdminOrderPage(keysetQuery);
+        ObjectWriter writer = objectMapper.writerFor(OrderResponseDto.class);
+        StreamingResponseBody body = outputStream -> {
+            AdminOrderPageDto page = firstPage;
+            while (true) {
+                for (OrderResponseDto order : page.orders()) {
+                    outputStream.write(writer.writeValueAsBytes(order));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                if (page.nextCursor() == null) {
+                    break;
+                }
+                page = iOrderService.getAdminOrderPage(keysetQuery.withCursor(page.nextCursor()));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PatchMapping("/orders/{orderId}/confirm")
     public ResponseEntity<ResponseDto> confirmOrder(@PathVariable Long orderId) {
         iOrderService.updateOrderStatus(orderId, ApplicationConstants.ORDER_STATUS_CONFIRMED);
@@ -42,6 +92,33 @@ public class AdminController {
         );
     }
 
+    /**
+     * Moves the listed orders, or all orders matching the filter, to the target status,
+     * e.g. {@code {"orderIds": [1, 2], "targetStatus": "CONFIRMED"}} or
+     * {@code {"filter": {"status": "PENDING", "to": "2025-01-01T00:00:00Z"}, "targetStatus": "CANCELLED"}}.
+     */
+    @PatchMapping("/orders/status")
+    public ResponseEntity<BulkOrderStatusResultDto> updateOrderStatuses(
+            @Valid @RequestBody BulkOrderStatusRequestDto request) {
+        return ResponseEntity.ok(iOrderService.updateOrderStatuses(request));
+    }
+
+    /**
+     * Verified payments for which no order could be created, still to be refunded
+     */
+    @GetMapping("/payments/unfulfilled")
+    public ResponseEntity<List<UnfulfilledPaymentDto>> getRefundPendingPayments() {
+        return ResponseEntity.ok(iUnfulfilledPaymentService.getRefundPendingPayments());
+    }
+
+    @PatchMapping("/payments/unfulfilled/{unfulfilledPaymentId}/refunded")
+    public ResponseEntity<ResponseDto> markPaymentRefunded(@PathVariable Long unfulfilledPaymentId) {
+        iUnfulfilledPaymentService.markRefunded(unfulfilledPaymentId);
+        return ResponseEntity.ok(
+                new ResponseDto("200", "Payment #" + unfulfilledPaymentId + " has been marked as refunded.")
+        );
+    }
+
     @GetMapping("/messages")
     public ResponseEntity<List<ContactResponseDto>> getAllOpenMessages() {
         return ResponseEntity.ok(iContactService.getAllOpenMessages());
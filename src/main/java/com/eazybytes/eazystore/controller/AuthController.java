@@ -3,12 +3,14 @@ package com.eazybytes.eazystore.controller;
 import com.eazybytes.eazystore.dto.*;
 import com.eazybytes.eazystore.entity.Customer;
 import com.eazybytes.eazystore.entity.Role;
+import com.eazybytes.eazystore.mapper.CustomerMapper;
 import com.eazybytes.eazystore.repository.CustomerRepository;
 import com.eazybytes.eazystore.repository.RoleRepository;
 import com.eazybytes.eazystore.util.JwtUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,12 +25,15 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -42,24 +47,35 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final CompromisedPasswordChecker compromisedPasswordChecker;
     private final JwtUtil jwtUtil;
+    @Qualifier("loginExecutor")
+    private final ThreadPoolTaskExecutor loginExecutor;
 
+    /**
+     * Password verification is CPU-bound, so it runs on the bounded login executor
+     * instead of the request thread; when that is saturated the login fails fast with 503.
+     */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDto> apiLogin(@RequestBody
+    public CompletableFuture<ResponseEntity<LoginResponseDto>> apiLogin(@RequestBody
     LoginRequestDto loginRequestDto) {
+        try {
+            return CompletableFuture.supplyAsync(() -> login(loginRequestDto), loginExecutor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new LoginResponseDto("Too many login attempts, please retry shortly", null, null)));
+        }
+    }
+
+    private ResponseEntity<LoginResponseDto> login(LoginRequestDto loginRequestDto) {
         try {
             Authentication authentication = authenticationManager.authenticate(new
                     UsernamePasswordAuthenticationToken(loginRequestDto.username(),
                     loginRequestDto.password()));
-            var userDto = new UserDto();
             var loggedInUser = (Customer) authentication.getPrincipal();
-            BeanUtils.copyProperties(loggedInUser, userDto);
+            var userDto = CustomerMapper.toUserDto(loggedInUser);
             userDto.setRoles(authentication.getAuthorities().stream().map(
                     GrantedAuthority::getAuthority).collect(Collectors.joining(",")));
-            if (loggedInUser.getAddress() != null) {
-                AddressDto addressDto = new AddressDto();
-                BeanUtils.copyProperties(loggedInUser.getAddress(), addressDto);
-                userDto.setAddress(addressDto);
-            }
             String jwtToken = jwtUtil.generateJwtToken(authentication);
             return ResponseEntity.status(HttpStatus.OK)
                     .body(new LoginResponseDto(HttpStatus.OK.getReasonPhrase(),
@@ -100,8 +116,7 @@ public class AuthController {
 
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
         }
-        Customer customer = new Customer();
-        BeanUtils.copyProperties(registerRequestDto, customer);
+        Customer customer = CustomerMapper.toEntity(registerRequestDto);
         customer.setPasswordHash(passwordEncoder.encode(registerRequestDto.getPassword()));
         roleRepository.findByName("ROLE_USER").ifPresent(role -> customer.setRoles(Set.of(role)));
         customerRepository.save(customer);
@@ -1,8 +1,13 @@
 package com.eazybytes.eazystore.controller;
 
+import com.eazybytes.eazystore.dto.OrderCreationResult;
 import com.eazybytes.eazystore.dto.OrderItemDto;
+import com.eazybytes.eazystore.dto.OrderPageDto;
 import com.eazybytes.eazystore.dto.OrderRequestDto;
 import com.eazybytes.eazystore.dto.OrderResponseDto;
+import com.eazybytes.eazystore.exception.IdempotencyConflictException;
+import com.eazybytes.eazystore.exception.StockReservationException;
+import com.eazybytes.eazystore.service.IOrderIdempotencyService;
 import com.eazybytes.eazystore.service.IOrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,9 +26,16 @@ import java.util.stream.Collectors;
 public class OrderController {
 
     private final IOrderService iOrderService;
+    private final IOrderIdempotencyService orderIdempotencyService;
 
+    /**
+     * Creates an order once per {@code Idempotency-Key} header, or per payment id without
+     * one; a retried request answers with the same response and an
+     * {@code Idempotent-Replayed} header instead of creating another order.
+     */
     @PostMapping
-    public ResponseEntity<String> createOrder(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<String> createOrder(@RequestBody Map<String, Object> request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
             log.info("Received order creation request: {}", request);
             
@@ -50,11 +62,17 @@ public class OrderController {
                 orderItems
             );
             
-            // Create the order
-            iOrderService.createOrder(orderRequest);
-            log.info("Order created successfully with ID: {}", orderId);
+            // Create the order, unless this request was already handled
+            OrderCreationResult result = orderIdempotencyService.createOnce(idempotencyKey, orderRequest,
+                    () -> iOrderService.createOrder(orderRequest));
+            log.info("Order created successfully with ID: {}", result.orderId());
             
-            return ResponseEntity.ok("Order created successfully!");
+            return ResponseEntity.ok()
+                    .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                    .body("Order created successfully!");
+        } catch (StockReservationException | IdempotencyConflictException e) {
+            // Answered with 409 and the per-item outcome, or with 422, by the exception handler
+            throw e;
         } catch (Exception e) {
             log.error("Error creating order: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body("Error creating order: " + e.getMessage());
@@ -66,4 +84,14 @@ public class OrderController {
         return ResponseEntity.ok(iOrderService.getCustomerOrders());
     }
 
+    /**
+     * Order history one page at a time, newest first; follow {@code nextCursor} via
+     * {@code cursor}, e.g. {@code /api/v1/orders/history?size=20&cursor=...}.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<OrderPageDto> loadCustomerOrderPage(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(iOrderService.getCustomerOrderPage(cursor, size));
+    }
+
 }
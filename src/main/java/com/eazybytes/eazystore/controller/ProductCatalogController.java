@@ -0,0 +1,28 @@
+package com.eazybytes.eazystore.controller;
+
+import com.eazybytes.eazystore.dto.CatalogPageDto;
+import com.eazybytes.eazystore.dto.ProductCatalogQuery;
+import com.eazybytes.eazystore.service.IProductService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class ProductCatalogController {
+
+    private final IProductService productService;
+
+    /**
+     * Public catalog, e.g. {@code /api/v1/products?category=Clothing&size=M&sort=PRICE&direction=ASC}.
+     * Pass {@code page} for offset paging, or follow {@code nextCursor} via {@code cursor}.
+     */
+    @GetMapping
+    public ResponseEntity<CatalogPageDto> getCatalog(@ModelAttribute ProductCatalogQuery query) {
+        return ResponseEntity.ok(productService.getProductCatalog(query));
+    }
+}
@@ -19,8 +19,9 @@ public class ProductController {
     private final IProductService productService;
 
     @GetMapping("/all")
-    public ResponseEntity<List<ProductDto>> getProducts() {
-        return ResponseEntity.ok(productService.getProducts());
+    public ResponseEntity<List<ProductDto>> getProducts(
+            @RequestParam(defaultValue = "false") boolean includeImageData) {
+        return ResponseEntity.ok(productService.getProducts(includeImageData));
     }
 
 
@@ -31,8 +32,9 @@ public class ProductController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDto> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<ProductDto> getProductById(@PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeImageData) {
+        return ResponseEntity.ok(productService.getProductById(id, includeImageData));
     }
     
     @PutMapping(value = "/{id}", consumes = "multipart/form-data")
@@ -0,0 +1,57 @@
+package com.eazybytes.eazystore.controller;
+
+import com.eazybytes.eazystore.dto.ProductImageDto;
+import com.eazybytes.eazystore.service.IProductImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class ProductImageController {
+
+    private static final Duration FALLBACK_MAX_AGE = Duration.ofMinutes(1);
+
+    private final IProductImageService productImageService;
+
+    /**
+     * Streams a product image. Conditional requests (If-None-Match / If-Modified-Since)
+     * are answered with 304 and Range requests with 206 by Spring MVC based on the
+     * ETag and Last-Modified headers set here. The optional size parameter selects
+     * the smallest stored variant at least that wide.
+     */
+    @GetMapping("/{productId}/images/{imageName}")
+    public ResponseEntity<Resource> getProductImage(@PathVariable Long productId,
+            @PathVariable String imageName,
+            @RequestParam(required = false) Integer size) throws IOException {
+        ProductImageDto productImage = productImageService.loadProductImage(productId, imageName, size);
+        Resource image = productImage.resource();
+        long contentLength = image.contentLength();
+        long lastModified = image.lastModified();
+        // Image names are random UUIDs that are never reused, so the content is immutable,
+        // except for an original standing in for a variant that may still be generated
+        CacheControl cacheControl = productImage.fallback()
+                ? CacheControl.maxAge(FALLBACK_MAX_AGE).cachePublic()
+                : CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+        return ResponseEntity.ok()
+                .contentType(MediaTypeFactory.getMediaType(image)
+                        .orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .contentLength(contentLength)
+                .lastModified(lastModified)
+                .eTag("W/\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(contentLength) + "\"")
+                .cacheControl(cacheControl)
+                .body(image);
+    }
+}
@@ -1,13 +1,18 @@
 package com.eazybytes.eazystore.controller;
 
+import com.eazybytes.eazystore.dto.OrderCreationResult;
 import com.eazybytes.eazystore.dto.OrderItemDto;
 import com.eazybytes.eazystore.dto.OrderRequestDto;
 import com.eazybytes.eazystore.dto.RazorpayOrderRequest;
+import com.eazybytes.eazystore.exception.IdempotencyConflictException;
+import com.eazybytes.eazystore.exception.StockReservationException;
 import com.eazybytes.eazystore.service.IRazorpayService;
+import com.eazybytes.eazystore.service.IOrderIdempotencyService;
 import com.eazybytes.eazystore.service.IOrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,6 +28,7 @@ public class RazorpayController {
 
     private final IRazorpayService razorpayService;
     private final IOrderService orderService;
+    private final IOrderIdempotencyService orderIdempotencyService;
     private final ObjectMapper objectMapper;
 
     @PostMapping
@@ -30,6 +36,11 @@ public class RazorpayController {
         try {
             String order = razorpayService.createOrder(orderRequest);
             return ResponseEntity.ok(order);
+        } catch (StockReservationException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "Some items are no longer available");
+            error.put("items", e.getResults());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Error creating Razorpay order: " + e.getMessage());
@@ -37,8 +48,14 @@ public class RazorpayController {
         }
     }
 
+    /**
+     * Verifies the payment signature locally and creates the order once per payment; a
+     * retried request answers with the same response and an {@code Idempotent-Replayed}
+     * header instead of creating another order.
+     */
     @PostMapping("/verify")
-    public ResponseEntity<?> verifyPayment(@RequestBody Map<String, Object> requestBody) {
+    public ResponseEntity<?> verifyPayment(@RequestBody Map<String, Object> requestBody,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         // Extract payment verification parameters from request body
         String orderId = (String) requestBody.get("orderId");
         String paymentId = (String) requestBody.get("paymentId");
@@ -87,17 +104,32 @@ public class RazorpayController {
                     orderItems
                 );
                 
-                // Use createOrderWithPayment to ensure proper order status and payment linking
-                orderService.createOrderWithPayment(orderRequest, paymentId, "PAID");
+                // Converts the stock held for the Razorpay order, or reserves it if the hold has expired
+                OrderCreationResult result = orderIdempotencyService.createOnce(idempotencyKey, orderRequest,
+                        () -> orderService.createOrderWithPayment(orderRequest, orderId, paymentId, "PAID"));
                 
                 response.put("message", "Payment successful and order created");
                 response.put("orderId", orderId);
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                        .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                        .body(response);
             } else {
                 log.warn("Payment verification failed for order: {}", orderId);
                 response.put("message", "Payment verification failed");
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (StockReservationException e) {
+            log.warn("Payment {} verified but stock could not be reserved: {}", paymentId, e.getMessage());
+            response.put("valid", true);
+            response.put("message", "Some items are no longer available, the payment will be refunded");
+            response.put("refundPending", true);
+            response.put("items", e.getResults());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IdempotencyConflictException e) {
+            log.warn("Payment {} verified but the request conflicts with an earlier one: {}", paymentId, e.getMessage());
+            response.put("valid", true);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
         } catch (Exception e) {
             log.error("Error processing payment verification for order {}: {}", orderId, e.getMessage(), e);
             response.put("valid", false);
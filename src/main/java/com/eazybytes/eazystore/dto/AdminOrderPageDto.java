@@ -0,0 +1,11 @@
+package com.eazybytes.eazystore.dto;
+
+import java.util.List;
+
+/**
+ * One page of the admin order listing. Offset pages carry the page number and totals,
+ * keyset pages carry the cursor of the next page (null on the last page).
+ */
+public record AdminOrderPageDto(List<OrderResponseDto> orders, Integer page, Integer pageSize,
+                                Long totalElements, Integer totalPages, String nextCursor) {
+}
@@ -0,0 +1,40 @@
+package com.eazybytes.eazystore.dto;
+
+import com.eazybytes.eazystore.entity.OrderStatus;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
+
+import java.time.Instant;
+
+/**
+ * Filters and paging options of the admin order listing, oldest order first. The status
+ * defaults to PENDING, {@code from} is inclusive and {@code to} exclusive. Offset paging
+ * is used when a page number is given, keyset paging (driven by the cursor) otherwise.
+ */
+public record AdminOrderQuery(OrderStatus status, Instant from, Instant to, Long customerId,
+                              Integer page, Integer pageSize, String cursor) {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public AdminOrderQuery {
+        status = status == null ? OrderStatus.PENDING : status;
+        pageSize = pageSize == null || pageSize <= 0 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        if (page != null && page < 0) {
+            throw new InvalidRequestException("Page number must not be negative");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestException("'from' must be before 'to'");
+        }
+    }
+
+    public boolean isKeyset() {
+        return page == null;
+    }
+
+    /**
+     * The same filters positioned at the given keyset cursor
+     */
+    public AdminOrderQuery withCursor(String nextCursor) {
+        return new AdminOrderQuery(status, from, to, customerId, null, pageSize, nextCursor);
+    }
+}
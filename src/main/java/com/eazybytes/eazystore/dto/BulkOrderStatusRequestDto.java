@@ -0,0 +1,14 @@
+package com.eazybytes.eazystore.dto;
+
+import com.eazybytes.eazystore.entity.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Moves either the listed orders or all orders matching the filter (its paging options
+ * are ignored) to the target status.
+ */
+public record BulkOrderStatusRequestDto(List<Long> orderIds, AdminOrderQuery filter,
+                                        @NotNull OrderStatus targetStatus) {
+}
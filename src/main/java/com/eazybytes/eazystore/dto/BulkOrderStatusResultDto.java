@@ -0,0 +1,26 @@
+package com.eazybytes.eazystore.dto;
+
+import com.eazybytes.eazystore.entity.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Per-order outcomes of a bulk status change with their counts.
+ */
+public record BulkOrderStatusResultDto(OrderStatus targetStatus, int updated, int unchanged,
+                                       int invalidTransitions, int notFound,
+                                       List<OrderStatusChangeResult> results) {
+
+    public static BulkOrderStatusResultDto of(OrderStatus targetStatus, List<OrderStatusChangeResult> results) {
+        int[] counts = new int[OrderStatusChangeResult.Outcome.values().length];
+        for (OrderStatusChangeResult result : results) {
+            counts[result.outcome().ordinal()]++;
+        }
+        return new BulkOrderStatusResultDto(targetStatus,
+                counts[OrderStatusChangeResult.Outcome.UPDATED.ordinal()],
+                counts[OrderStatusChangeResult.Outcome.UNCHANGED.ordinal()],
+                counts[OrderStatusChangeResult.Outcome.INVALID_TRANSITION.ordinal()],
+                counts[OrderStatusChangeResult.Outcome.NOT_FOUND.ordinal()],
+                results);
+    }
+}
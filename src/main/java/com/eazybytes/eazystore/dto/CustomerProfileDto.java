@@ -0,0 +1,9 @@
+package com.eazybytes.eazystore.dto;
+
+/**
+ * The caller's profile as kept in the customers cache. It carries no credentials or
+ * roles, only what the profile response shows.
+ */
+public record CustomerProfileDto(Long customerId, String name, String email, String mobileNumber,
+                                 AddressDto address) {
+}
@@ -0,0 +1,16 @@
+package com.eazybytes.eazystore.dto;
+
+/**
+ * The order created for a request, or the order an earlier request with the same
+ * idempotency key created, in which case {@code replayed} is set.
+ */
+public record OrderCreationResult(Long orderId, boolean replayed) {
+
+    public static OrderCreationResult created(Long orderId) {
+        return new OrderCreationResult(orderId, false);
+    }
+
+    public static OrderCreationResult replayed(Long orderId) {
+        return new OrderCreationResult(orderId, true);
+    }
+}
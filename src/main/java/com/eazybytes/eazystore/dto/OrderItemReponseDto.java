@@ -4,5 +4,5 @@ import java.math.BigDecimal;
 import java.util.List;
 
 public record OrderItemReponseDto(String productName, Integer quantity,
-                                  BigDecimal price, List<byte[]> images ) {
+                                  BigDecimal price, List<String> imageUrls ) {
 }
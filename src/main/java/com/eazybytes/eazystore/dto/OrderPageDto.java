@@ -0,0 +1,13 @@
+package com.eazybytes.eazystore.dto;
+
+import java.util.List;
+
+/**
+ * One page of a customer's order history, newest first. Follow {@code nextCursor} to the
+ * next page; it is null on the last page.
+ */
+public record OrderPageDto(List<OrderResponseDto> orders, Integer pageSize, String nextCursor) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+}
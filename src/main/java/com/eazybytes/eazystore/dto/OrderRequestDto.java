@@ -1,8 +1,37 @@
 package com.eazybytes.eazystore.dto;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public record OrderRequestDto(BigDecimal totalPrice,
     String paymentId, String paymentStatus, List<OrderItemDto> items) {
+
+    /**
+     * SHA-256 of the payment id, total and items, so a repeated request can be told apart
+     * from a different one sent with the same idempotency key. Item order and trailing
+     * zeros of amounts do not change it.
+     */
+    public String fingerprint() {
+        String items = this.items == null ? "" : this.items.stream()
+                .map(item -> item.productId() + ":" + item.quantity() + ":" + plain(item.price()))
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.joining(","));
+        String canonical = paymentId + "|" + plain(totalPrice) + "|" + items;
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount == null ? "" : amount.stripTrailingZeros().toPlainString();
+    }
 }
@@ -0,0 +1,17 @@
+package com.eazybytes.eazystore.dto;
+
+import com.eazybytes.eazystore.entity.OrderStatus;
+
+/**
+ * Outcome of moving one order to a new status; the previous status is null for an
+ * unknown order.
+ */
+public record OrderStatusChangeResult(Long orderId, OrderStatus previousStatus, Outcome outcome) {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        INVALID_TRANSITION,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,34 @@
+package com.eazybytes.eazystore.dto;
+
+import com.eazybytes.eazystore.exception.InvalidRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+/**
+ * Filter, sort and paging options of the public product catalog. Offset paging is
+ * used when a page number is given, keyset paging (driven by the cursor) otherwise.
+ * Being a record it doubles as the cache key of the resulting page.
+ */
+public record ProductCatalogQuery(String category, String subcategory,
+                                  BigDecimal minPrice, BigDecimal maxPrice,
+                                  String color, String size,
+                                  ProductSortField sort, Sort.Direction direction,
+                                  Integer page, Integer pageSize, String cursor) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public ProductCatalogQuery {
+        sort = sort == null ? ProductSortField.POPULARITY : sort;
+        direction = direction == null ? Sort.Direction.DESC : direction;
+        pageSize = pageSize == null || pageSize <= 0 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        if (page != null && page < 0) {
+            throw new InvalidRequestException("Page number must not be negative");
+        }
+    }
+
+    public boolean isKeyset() {
+        return page == null;
+    }
+}
@@ -22,8 +22,10 @@ public class ProductDto {
     private String subcategory;
     private List<String> colors;
     private List<String> sizes;
-    private List<byte[]> images;  // Changed from List<String> to List<byte[]>
+    private List<byte[]> images;  // Only populated when image data is explicitly requested
     private List<String> imageNames;  // Keep track of original file names
+    private List<String> imageUrls;  // Streaming endpoint URLs, always populated
+    private List<String> thumbnailUrls;  // Downscaled variants for listing pages
     private String imageContentType;  // Common content type for all images (assuming same type)
     private Instant createdAt;
 }
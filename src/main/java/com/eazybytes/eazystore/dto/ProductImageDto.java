@@ -0,0 +1,11 @@
+package com.eazybytes.eazystore.dto;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A product image to stream. {@code fallback} is set when the original is served in place
+ * of a requested variant that does not exist (yet), so the response must not be cached as
+ * immutable under the variant's URL.
+ */
+public record ProductImageDto(Resource resource, boolean fallback) {
+}
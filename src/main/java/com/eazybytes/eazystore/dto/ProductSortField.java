@@ -0,0 +1,18 @@
+package com.eazybytes.eazystore.dto;
+
+public enum ProductSortField {
+
+    POPULARITY("popularity"),
+    PRICE("price"),
+    CREATED_AT("createdAt");
+
+    private final String property;
+
+    ProductSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
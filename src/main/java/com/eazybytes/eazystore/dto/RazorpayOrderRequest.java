@@ -3,11 +3,14 @@ package com.eazybytes.eazystore.dto;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 public class RazorpayOrderRequest {
     private BigDecimal amount;
     private String currency;
     private String receipt;
+    // The items of the checkout, held in stock until the payment is verified
+    private List<OrderItemDto> items;
 //    private Integer paymentCapture;
 }
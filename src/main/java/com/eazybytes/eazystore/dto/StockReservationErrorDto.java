@@ -0,0 +1,10 @@
+package com.eazybytes.eazystore.dto;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record StockReservationErrorDto(String apiPath, HttpStatus errorCode, String errorMessage,
+                                       List<StockReservationResult> items, LocalDateTime errorTime) {
+}
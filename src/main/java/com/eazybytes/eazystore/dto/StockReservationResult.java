@@ -0,0 +1,22 @@
+package com.eazybytes.eazystore.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Outcome of reserving stock for one product of an order; quantities of order lines
+ * with the same product are summed up. AVAILABLE marks products that had enough stock
+ * but were not reserved because another product of the order failed.
+ */
+public record StockReservationResult(Long productId, Integer requestedQuantity, Status status) {
+
+    public enum Status {
+        AVAILABLE,
+        INSUFFICIENT_STOCK,
+        PRODUCT_NOT_FOUND
+    }
+
+    @JsonIgnore
+    public boolean isFailed() {
+        return status == Status.INSUFFICIENT_STOCK || status == Status.PRODUCT_NOT_FOUND;
+    }
+}
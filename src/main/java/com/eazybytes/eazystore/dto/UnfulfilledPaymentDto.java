@@ -0,0 +1,8 @@
+package com.eazybytes.eazystore.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record UnfulfilledPaymentDto(Long unfulfilledPaymentId, String paymentId, String razorpayOrderId,
+                                    Long customerId, BigDecimal amount, String reason, Instant createdAt) {
+}
@@ -1,5 +1,6 @@
 package com.eazybytes.eazystore.entity;
 
+import com.eazybytes.eazystore.constants.ApplicationConstants;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -18,7 +19,9 @@ import java.time.Instant;
         resultClass = Contact.class)
 public class Contact extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contacts_seq")
+    @SequenceGenerator(name = "contacts_seq", sequenceName = "contacts_seq",
+            allocationSize = ApplicationConstants.ID_ALLOCATION_SIZE)
     @Column(name = "contact_id", nullable = false)
     private Long contactId;
 
@@ -1,5 +1,6 @@
 package com.eazybytes.eazystore.entity;
 
+import com.eazybytes.eazystore.constants.ApplicationConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -15,7 +16,9 @@ import java.util.Set;
 @Table(name = "customers")
 public class Customer extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq",
+            allocationSize = ApplicationConstants.ID_ALLOCATION_SIZE)
     @Column(name = "customer_id", nullable = false)
     private Long customerId;
 
@@ -0,0 +1,57 @@
+package com.eazybytes.eazystore.entity;
+
+import com.eazybytes.eazystore.constants.ApplicationConstants;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stock taken out of the available quantity of its products for one checkout, between
+ * the creation of the Razorpay order and the verification of its payment. The product
+ * quantities are decremented when the hold is placed, so the available stock read by the
+ * catalog already excludes held units and needs no lock.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "inventory_holds", indexes = {
+        // Backs the sweep of expired holds
+        @Index(name = "idx_inventory_holds_status_expires_at", columnList = "status, expires_at")
+})
+public class InventoryHold extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_holds_seq")
+    @SequenceGenerator(name = "inventory_holds_seq", sequenceName = "inventory_holds_seq",
+            allocationSize = ApplicationConstants.ID_ALLOCATION_SIZE)
+    @Column(name = "hold_id", nullable = false)
+    private Long holdId;
+
+    @Size(max = 100)
+    @Column(name = "razorpay_order_id", unique = true, length = 100)
+    private String razorpayOrderId;
+
+    @NotNull
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private InventoryHoldStatus status;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @ElementCollection
+    @CollectionTable(name = "inventory_hold_items", joinColumns = @JoinColumn(name = "hold_id"))
+    @MapKeyColumn(name = "product_id")
+    @Column(name = "quantity", nullable = false)
+    private Map<Long, Integer> quantities = new HashMap<>();
+
+}
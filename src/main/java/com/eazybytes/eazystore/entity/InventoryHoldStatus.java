@@ -0,0 +1,10 @@
+package com.eazybytes.eazystore.entity;
+
+public enum InventoryHoldStatus {
+    /** The stock is reserved for the checkout and not yet paid. */
+    HELD,
+    /** The payment was verified and the held stock became part of an order. */
+    CONVERTED,
+    /** The hold expired or was abandoned and its stock was put back. */
+    RELEASED
+}
@@ -1,10 +1,12 @@
 package com.eazybytes.eazystore.entity;
 
+import com.eazybytes.eazystore.constants.ApplicationConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -13,10 +15,19 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Backs the keyset-paginated order history of a customer
+        @Index(name = "idx_orders_customer_created_at", columnList = "customer_id, created_at, order_id"),
+        // Backs the admin order listing by status and creation time
+        @Index(name = "idx_orders_status_created_at", columnList = "order_status, created_at"),
+        // A payment pays for one order; makes retried order creation idempotent
+        @Index(name = "uk_orders_payment_id", columnList = "payment_id", unique = true)
+})
 public class Order extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq",
+            allocationSize = ApplicationConstants.ID_ALLOCATION_SIZE)
     @Column(name = "order_id", nullable = false)
     private Long orderId;
 
@@ -46,4 +57,16 @@ public class Order extends BaseEntity {
     @Column(name = "order_status", nullable = false, length = 50)
     private OrderStatus orderStatus;
 
+    // Whether the stock of the items was taken when the order was placed; orders created
+    // before stock was reserved at order time have nothing to put back when cancelled
+    @ColumnDefault("false")
+    @Column(name = "stock_reserved", nullable = false)
+    private boolean stockReserved;
+
+    // OrderRequestDto#fingerprint of the request that created the order, so a replayed
+    // idempotency key can be checked against it
+    @Size(max = 64)
+    @Column(name = "request_fingerprint", length = 64)
+    private String requestFingerprint;
+
 }
\ No newline at end of file
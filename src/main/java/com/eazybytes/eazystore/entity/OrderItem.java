@@ -1,5 +1,6 @@
 package com.eazybytes.eazystore.entity;
 
+import com.eazybytes.eazystore.constants.ApplicationConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -13,7 +14,9 @@ import java.math.BigDecimal;
 @Table(name = "order_items")
 public class OrderItem extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq",
+            allocationSize = ApplicationConstants.ID_ALLOCATION_SIZE)
     @Column(name = "order_item_id", nullable = false)
     private Long orderItemId;
 
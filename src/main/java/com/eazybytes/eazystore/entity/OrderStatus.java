@@ -3,6 +3,20 @@ package com.eazybytes.eazystore.entity;
 public enum OrderStatus {
     PENDING,
     PROCESSING,
+    CONFIRMED,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Whether an order in this status may be moved to the target status. Completed and
+     * cancelled orders are final.
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case PENDING -> target == PROCESSING || target == CONFIRMED || target == CANCELLED;
+            case PROCESSING -> target == CONFIRMED || target == COMPLETED || target == CANCELLED;
+            case CONFIRMED -> target == COMPLETED || target == CANCELLED;
+            case COMPLETED, CANCELLED -> false;
+        };
+    }
 }
@@ -0,0 +1,53 @@
+package com.eazybytes.eazystore.entity;
+
+import com.eazybytes.eazystore.constants.ApplicationConstants;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * A verified payment for which no order was created because its stock could no longer
+ * be reserved, e.g. after its inventory hold expired. The money was captured, so it is
+ * kept here until an admin refunds it.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "unfulfilled_payments")
+public class UnfulfilledPayment extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "unfulfilled_payments_seq")
+    @SequenceGenerator(name = "unfulfilled_payments_seq", sequenceName = "unfulfilled_payments_seq",
+            allocationSize = ApplicationConstants.ID_ALLOCATION_SIZE)
+    @Column(name = "unfulfilled_payment_id", nullable = false)
+    private Long unfulfilledPaymentId;
+
+    @Size(max = 200)
+    @NotNull
+    @Column(name = "payment_id", nullable = false, unique = true, length = 200)
+    private String paymentId;
+
+    @Size(max = 100)
+    @Column(name = "razorpay_order_id", length = 100)
+    private String razorpayOrderId;
+
+    @NotNull
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "amount", precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Size(max = 500)
+    @Column(name = "reason", length = 500)
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private UnfulfilledPaymentStatus status;
+
+}
@@ -0,0 +1,8 @@
+package com.eazybytes.eazystore.entity;
+
+public enum UnfulfilledPaymentStatus {
+    /** The payment was captured but no order could be created, it has to be refunded. */
+    REFUND_PENDING,
+    /** An admin refunded the payment. */
+    REFUNDED
+}
@@ -1,9 +1,13 @@
 package com.eazybytes.eazystore.exception;
 
 import com.eazybytes.eazystore.dto.ErrorResponseDto;
+import com.eazybytes.eazystore.dto.StockReservationErrorDto;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -54,6 +58,44 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errors);
     }
 
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponseDto> handleTaskRejectedException(TaskRejectedException exception,
+            WebRequest webRequest) {
+        log.warn("Request rejected, its executor is saturated: {}", exception.getMessage());
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
+                webRequest.getDescription(false), HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many concurrent requests, please retry shortly", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponseDto);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidRequestException(InvalidRequestException exception,
+            WebRequest webRequest) {
+        log.error("An exception occurred due to : {}", exception.getMessage());
+        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
+                webRequest.getDescription(false),
+                HttpStatus.BAD_REQUEST,
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Query parameters bound to a record through its constructor, whose checks surface
+     * wrapped in a BeanInstantiationException.
+     */
+    @ExceptionHandler(BeanInstantiationException.class)
+    public ResponseEntity<ErrorResponseDto> handleBeanInstantiationException(BeanInstantiationException exception,
+            WebRequest webRequest) {
+        if (exception.getCause() instanceof InvalidRequestException invalidRequest) {
+            return handleInvalidRequestException(invalidRequest, webRequest);
+        }
+        return handleGlobalException(exception, webRequest);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleResourceNotFoundException(ResourceNotFoundException exception,
             WebRequest webRequest){
@@ -66,4 +108,31 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponseDTO, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(StockReservationException.class)
+    public ResponseEntity<StockReservationErrorDto> handleStockReservationException(
+            StockReservationException exception, WebRequest webRequest) {
+        log.warn("Order rejected: {}", exception.getMessage());
+        StockReservationErrorDto errorResponseDTO = new StockReservationErrorDto(
+                webRequest.getDescription(false),
+                HttpStatus.CONFLICT,
+                exception.getMessage(),
+                exception.getResults(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleIdempotencyConflictException(
+            IdempotencyConflictException exception, WebRequest webRequest) {
+        log.warn("Order rejected: {}", exception.getMessage());
+        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
+                webRequest.getDescription(false),
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
 }
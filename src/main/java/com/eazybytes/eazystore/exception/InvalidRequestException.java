@@ -0,0 +1,16 @@
+package com.eazybytes.eazystore.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when request input fails a check that bean validation cannot express, e.g. an
+ * invalid paging cursor or an order status change that is not allowed.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.eazybytes.eazystore.exception;
+
+import com.eazybytes.eazystore.dto.StockReservationResult;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+/**
+ * Thrown when not every product of an order could be reserved. Carries the outcome
+ * for each product, reserved ones included, so callers can tell which lines failed.
+ */
+@Getter
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class StockReservationException extends RuntimeException {
+
+    private final List<StockReservationResult> results;
+
+    public StockReservationException(List<StockReservationResult> results) {
+        super("Stock could not be reserved for products " + results.stream()
+                .filter(StockReservationResult::isFailed)
+                .map(result -> result.productId() + " (" + result.status() + ")")
+                .toList());
+        this.results = List.copyOf(results);
+    }
+
+    public StockReservationException(String message, List<StockReservationResult> results) {
+        super(message);
+        this.results = List.copyOf(results);
+    }
+}
@@ -1,48 +1,37 @@
 package com.eazybytes.eazystore.filter;
 
 import com.eazybytes.eazystore.constants.ApplicationConstants;
+import com.eazybytes.eazystore.security.CustomerPrincipal;
+import com.eazybytes.eazystore.security.JwtTokenVerifier;
+import com.eazybytes.eazystore.security.PublicPathMatcher;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.List;
 
 @RequiredArgsConstructor
 public class JWTTokenValidatorFilter extends OncePerRequestFilter {
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
-    private final List<String> publicPaths;
+    private final PublicPathMatcher publicPathMatcher;
+    private final JwtTokenVerifier jwtTokenVerifier;
 
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String requestURI = request.getRequestURI();
-        
-        // Skip JWT validation for public paths
-        if (shouldNotFilter(request)) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
+        // Public paths never get here, OncePerRequestFilter skips them via shouldNotFilter
         String authHeader = request.getHeader(ApplicationConstants.JWT_HEADER);
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -54,27 +43,17 @@ public class JWTTokenValidatorFilter extends OncePerRequestFilter {
         try {
             // Extract the JWT token
             String jwt = authHeader.substring(7); // Remove 'Bearer ' prefix
-            Environment env = getEnvironment();
-            
-            if (env == null) {
-                throw new IllegalStateException("Environment not available");
-            }
-            
-            String secret = env.getProperty(ApplicationConstants.JWT_SECRET_KEY,
-                    ApplicationConstants.JWT_SECRET_DEFAULT_VALUE);
+            Claims claims = jwtTokenVerifier.verify(jwt);
                     
-            SecretKey secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(jwt)
-                    .getPayload();
-                    
-            String username = String.valueOf(claims.get("email"));
+            CustomerPrincipal principal = new CustomerPrincipal(
+                claims.get("customerId", Long.class),
+                String.valueOf(claims.get("email")),
+                claims.get("username", String.class)
+            );
             String roles = String.valueOf(claims.get("roles"));
             
             Authentication authentication = new UsernamePasswordAuthenticationToken(
-                username,
+                principal,
                 null, 
                 AuthorityUtils.commaSeparatedStringToAuthorityList(roles)
             );
@@ -95,8 +74,6 @@ public class JWTTokenValidatorFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request)
             throws ServletException {
-        String path = request.getRequestURI();
-        return publicPaths.stream().anyMatch(publicPath ->
-                pathMatcher.match(publicPath, path));
+        return publicPathMatcher.matches(request.getRequestURI());
     }
 }
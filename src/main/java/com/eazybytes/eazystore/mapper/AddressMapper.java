@@ -0,0 +1,36 @@
+package com.eazybytes.eazystore.mapper;
+
+import com.eazybytes.eazystore.dto.AddressDto;
+import com.eazybytes.eazystore.dto.ProfileRequestDto;
+import com.eazybytes.eazystore.entity.Address;
+
+/**
+ * Maps {@link Address} entities to and from their DTO representations.
+ */
+public final class AddressMapper {
+
+    private AddressMapper() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static AddressDto toDto(Address address) {
+        if (address == null) {
+            return null;
+        }
+        AddressDto addressDto = new AddressDto();
+        addressDto.setStreet(address.getStreet());
+        addressDto.setCity(address.getCity());
+        addressDto.setState(address.getState());
+        addressDto.setPostalCode(address.getPostalCode());
+        addressDto.setCountry(address.getCountry());
+        return addressDto;
+    }
+
+    public static void copyToEntity(ProfileRequestDto profileRequestDto, Address address) {
+        address.setStreet(profileRequestDto.getStreet());
+        address.setCity(profileRequestDto.getCity());
+        address.setState(profileRequestDto.getState());
+        address.setPostalCode(profileRequestDto.getPostalCode());
+        address.setCountry(profileRequestDto.getCountry());
+    }
+}
@@ -0,0 +1,36 @@
+package com.eazybytes.eazystore.mapper;
+
+import com.eazybytes.eazystore.dto.ContactRequestDto;
+import com.eazybytes.eazystore.dto.ContactResponseDto;
+import com.eazybytes.eazystore.entity.Contact;
+
+/**
+ * Maps {@link Contact} entities to and from the contact DTOs.
+ */
+public final class ContactMapper {
+
+    private ContactMapper() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static Contact toEntity(ContactRequestDto contactRequestDto, String status) {
+        Contact contact = new Contact();
+        contact.setName(contactRequestDto.getName());
+        contact.setEmail(contactRequestDto.getEmail());
+        contact.setMobileNumber(contactRequestDto.getMobileNumber());
+        contact.setMessage(contactRequestDto.getMessage());
+        contact.setStatus(status);
+        return contact;
+    }
+
+    public static ContactResponseDto toResponseDto(Contact contact) {
+        return new ContactResponseDto(
+                contact.getContactId(),
+                contact.getName(),
+                contact.getEmail(),
+                contact.getMobileNumber(),
+                contact.getMessage(),
+                contact.getStatus()
+        );
+    }
+}
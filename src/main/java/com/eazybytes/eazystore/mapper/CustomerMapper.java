@@ -0,0 +1,83 @@
+package com.eazybytes.eazystore.mapper;
+
+import com.eazybytes.eazystore.dto.CustomerProfileDto;
+import com.eazybytes.eazystore.dto.ProfileRequestDto;
+import com.eazybytes.eazystore.dto.ProfileResponseDto;
+import com.eazybytes.eazystore.dto.RegisterRequestDto;
+import com.eazybytes.eazystore.dto.UserDto;
+import com.eazybytes.eazystore.entity.Address;
+import com.eazybytes.eazystore.entity.Customer;
+
+/**
+ * Maps {@link Customer} entities to and from the profile, registration and user DTOs.
+ * Passwords and roles are never copied here; callers hash and resolve them explicitly.
+ */
+public final class CustomerMapper {
+
+    private CustomerMapper() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static Customer toEntity(RegisterRequestDto registerRequestDto) {
+        Customer customer = new Customer();
+        customer.setName(registerRequestDto.getName());
+        customer.setEmail(registerRequestDto.getEmail());
+        customer.setMobileNumber(registerRequestDto.getMobileNumber());
+        return customer;
+    }
+
+    /**
+     * Copies the editable profile fields, creating the address on first update.
+     */
+    public static void copyToEntity(ProfileRequestDto profileRequestDto, Customer customer) {
+        customer.setName(profileRequestDto.getName());
+        customer.setEmail(profileRequestDto.getEmail());
+        customer.setMobileNumber(profileRequestDto.getMobileNumber());
+        Address address = customer.getAddress();
+        if (address == null) {
+            address = new Address();
+            address.setCustomer(customer);
+        }
+        AddressMapper.copyToEntity(profileRequestDto, address);
+        customer.setAddress(address);
+    }
+
+    public static CustomerProfileDto toCustomerProfileDto(Customer customer) {
+        return new CustomerProfileDto(customer.getCustomerId(), customer.getName(), customer.getEmail(),
+                customer.getMobileNumber(), AddressMapper.toDto(customer.getAddress()));
+    }
+
+    public static ProfileResponseDto toProfileResponseDto(CustomerProfileDto customerProfile) {
+        ProfileResponseDto profileResponseDto = new ProfileResponseDto();
+        profileResponseDto.setCustomerId(customerProfile.customerId());
+        profileResponseDto.setName(customerProfile.name());
+        profileResponseDto.setEmail(customerProfile.email());
+        profileResponseDto.setMobileNumber(customerProfile.mobileNumber());
+        profileResponseDto.setAddress(customerProfile.address());
+        return profileResponseDto;
+    }
+
+    public static ProfileResponseDto toProfileResponseDto(Customer customer) {
+        ProfileResponseDto profileResponseDto = new ProfileResponseDto();
+        profileResponseDto.setCustomerId(customer.getCustomerId());
+        profileResponseDto.setName(customer.getName());
+        profileResponseDto.setEmail(customer.getEmail());
+        profileResponseDto.setMobileNumber(customer.getMobileNumber());
+        profileResponseDto.setAddress(AddressMapper.toDto(customer.getAddress()));
+        return profileResponseDto;
+    }
+
+    /**
+     * Maps everything but the roles, whose format differs between the login response
+     * and the admin user listing.
+     */
+    public static UserDto toUserDto(Customer customer) {
+        UserDto userDto = new UserDto();
+        userDto.setUserId(customer.getCustomerId());
+        userDto.setName(customer.getName());
+        userDto.setEmail(customer.getEmail());
+        userDto.setMobileNumber(customer.getMobileNumber());
+        userDto.setAddress(AddressMapper.toDto(customer.getAddress()));
+        return userDto;
+    }
+}
@@ -0,0 +1,70 @@
+package com.eazybytes.eazystore.mapper;
+
+import com.eazybytes.eazystore.dto.OrderItemReponseDto;
+import com.eazybytes.eazystore.dto.OrderResponseDto;
+import com.eazybytes.eazystore.repository.projection.OrderHistoryRow;
+import com.eazybytes.eazystore.repository.projection.ProductImageRow;
+import com.eazybytes.eazystore.util.ProductImageUrls;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups the flat order history rows back into {@link OrderResponseDto}s, keeping the
+ * order of the rows.
+ */
+public final class OrderHistoryAssembler {
+
+    private OrderHistoryAssembler() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Ids of the products referenced by the rows, for loading their images in one query.
+     */
+    public static Set<Long> productIds(List<OrderHistoryRow> rows) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (OrderHistoryRow row : rows) {
+            if (row.productId() != null) {
+                productIds.add(row.productId());
+            }
+        }
+        return productIds;
+    }
+
+    public static List<OrderResponseDto> assemble(List<OrderHistoryRow> rows, List<ProductImageRow> images) {
+        Map<Long, List<String>> imageUrls = new HashMap<>();
+        for (ProductImageRow image : images) {
+            imageUrls.computeIfAbsent(image.productId(), productId -> new ArrayList<>())
+                    .add(ProductImageUrls.of(image.productId(), image.imageFileName()));
+        }
+
+        Map<Long, OrderHistoryRow> orders = new LinkedHashMap<>();
+        Map<Long, List<OrderItemReponseDto>> items = new HashMap<>();
+        for (OrderHistoryRow row : rows) {
+            orders.putIfAbsent(row.orderId(), row);
+            List<OrderItemReponseDto> orderItems = items.computeIfAbsent(row.orderId(), orderId -> new ArrayList<>());
+            if (row.productId() != null) {
+                orderItems.add(new OrderItemReponseDto(row.productName(), row.quantity(), row.price(),
+                        imageUrls.getOrDefault(row.productId(), List.of())));
+            }
+        }
+
+        List<OrderResponseDto> orderDtos = new ArrayList<>(orders.size());
+        for (OrderHistoryRow order : orders.values()) {
+            orderDtos.add(new OrderResponseDto(
+                    order.orderId(),
+                    order.orderStatus(),
+                    order.totalPrice(),
+                    order.createdAt().toString(),
+                    items.get(order.orderId())
+            ));
+        }
+        return orderDtos;
+    }
+}
@@ -0,0 +1,73 @@
+package com.eazybytes.eazystore.mapper;
+
+import com.eazybytes.eazystore.dto.OrderItemDto;
+import com.eazybytes.eazystore.dto.OrderItemReponseDto;
+import com.eazybytes.eazystore.dto.OrderRequestDto;
+import com.eazybytes.eazystore.dto.OrderResponseDto;
+import com.eazybytes.eazystore.entity.Order;
+import com.eazybytes.eazystore.entity.OrderItem;
+import com.eazybytes.eazystore.entity.OrderStatus;
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.util.ProductImageUrls;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps {@link Order} and {@link OrderItem} entities to and from the order DTOs.
+ */
+public final class OrderMapper {
+
+    private OrderMapper() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Copies the order header; the customer and items are attached by the caller.
+     */
+    public static Order toEntity(OrderRequestDto orderRequest, OrderStatus orderStatus) {
+        Order order = new Order();
+        order.setTotalPrice(orderRequest.totalPrice());
+        order.setPaymentId(orderRequest.paymentId());
+        order.setPaymentStatus(orderRequest.paymentStatus());
+        order.setOrderStatus(orderStatus);
+        return order;
+    }
+
+    public static OrderItem toItemEntity(OrderItemDto itemDto, Order order, Product product) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrder(order);
+        orderItem.setProduct(product);
+        orderItem.setQuantity(itemDto.quantity());
+        orderItem.setPrice(itemDto.price());
+        return orderItem;
+    }
+
+    public static OrderResponseDto toResponseDto(Order order) {
+        List<OrderItem> orderItems = order.getOrderItems();
+        List<OrderItemReponseDto> itemDtos = new ArrayList<>(orderItems.size());
+        for (OrderItem orderItem : orderItems) {
+            itemDtos.add(toItemResponseDto(orderItem));
+        }
+        return new OrderResponseDto(
+                order.getOrderId(),
+                order.getOrderStatus(),
+                order.getTotalPrice(),
+                order.getCreatedAt().toString(),
+                itemDtos
+        );
+    }
+
+    /**
+     * Only references the images; clients fetch them from the cacheable image endpoint.
+     */
+    public static OrderItemReponseDto toItemResponseDto(OrderItem orderItem) {
+        Product product = orderItem.getProduct();
+        return new OrderItemReponseDto(
+                product.getName(),
+                orderItem.getQuantity(),
+                orderItem.getPrice(),
+                ProductImageUrls.of(product.getId(), product.getImageFileNames())
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package com.eazybytes.eazystore.mapper;
+
+import com.eazybytes.eazystore.dto.AddProduct;
+import com.eazybytes.eazystore.dto.ProductDto;
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.util.ProductAttributeNormalizer;
+import com.eazybytes.eazystore.util.ProductImageUrls;
+
+import java.util.List;
+
+/**
+ * Maps {@link Product} entities to and from the product DTOs. Image bytes are not
+ * handled here; they are read from disk by the product service only on request.
+ */
+public final class ProductMapper {
+
+    private ProductMapper() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static ProductDto toDto(Product product) {
+        ProductDto dto = new ProductDto();
+        dto.setProductId(product.getId());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setPrice(product.getPrice());
+        dto.setQuantity(product.getQuantity());
+        dto.setPopularity(product.getPopularity());
+        dto.setCategory(product.getCategory());
+        dto.setSubcategory(product.getSubcategory());
+        // Colors and sizes are normalized when the product is written
+        dto.setColors(product.getColors() == null ? null : List.copyOf(product.getColors()));
+        dto.setSizes(product.getSizes() == null ? null : List.copyOf(product.getSizes()));
+        dto.setCreatedAt(product.getCreatedAt());
+        setImages(dto, product.getId(), product.getImageFileNames());
+        return dto;
+    }
+
+    /**
+     * Sets the image names together with the URLs they are streamed from.
+     */
+    public static void setImages(ProductDto dto, Long productId, List<String> imageNames) {
+        dto.setImageNames(imageNames);
+        dto.setImageUrls(ProductImageUrls.of(productId, imageNames));
+        dto.setThumbnailUrls(ProductImageUrls.of(productId, imageNames, ProductImageUrls.LISTING_IMAGE_WIDTH));
+        dto.setImageContentType(imageContentType(imageNames));
+    }
+
+    /**
+     * Content type of the first image, assumed to be shared by all images of a product.
+     */
+    public static String imageContentType(List<String> imageNames) {
+        if (imageNames == null || imageNames.isEmpty()) {
+            return null;
+        }
+        String fileName = imageNames.get(0);
+        String fileExtension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+        return "image/" + (fileExtension.equals("jpg") ? "jpeg" : fileExtension);
+    }
+
+    public static Product toEntity(AddProduct product, List<String> imageFileNames) {
+        Product entity = new Product();
+        copyToEntity(product, entity);
+        entity.setImageFileNames(imageFileNames);
+        return entity;
+    }
+
+    /**
+     * Copies the editable fields; id, audit columns and images are left untouched.
+     */
+    public static void copyToEntity(AddProduct product, Product entity) {
+        entity.setName(product.getName());
+        entity.setDescription(product.getDescription());
+        entity.setPrice(product.getPrice());
+        entity.setQuantity(product.getQuantity());
+        entity.setPopularity(product.getPopularity());
+        entity.setCategory(product.getCategory());
+        entity.setSubcategory(product.getSubcategory());
+        entity.setColors(ProductAttributeNormalizer.normalizeColors(product.getColors()));
+        entity.setSizes(ProductAttributeNormalizer.normalizeSizes(product.getSizes()));
+    }
+}
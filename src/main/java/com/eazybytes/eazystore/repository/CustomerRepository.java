@@ -3,6 +3,10 @@ package com.eazybytes.eazystore.repository;
 import com.eazybytes.eazystore.entity.Customer;
 import com.eazybytes.eazystore.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -10,4 +14,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
   Optional<Customer> findByEmail(String email);
   Optional<Customer> findByEmailOrMobileNumber(String email, String mobileNumber);
-}
\ No newline at end of file
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE Customer c SET c.passwordHash = :passwordHash WHERE c.customerId = :customerId")
+  int updatePasswordHash(@Param("customerId") Long customerId,
+                         @Param("passwordHash") String passwordHash);
+}
@@ -0,0 +1,33 @@
+package com.eazybytes.eazystore.repository;
+
+import com.eazybytes.eazystore.entity.InventoryHold;
+import com.eazybytes.eazystore.entity.InventoryHoldStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface InventoryHoldRepository extends JpaRepository<InventoryHold, Long>, InventoryHoldRepositoryCustom {
+
+  Optional<InventoryHold> findByRazorpayOrderId(String razorpayOrderId);
+
+  @Modifying
+  @Query("UPDATE InventoryHold h SET h.razorpayOrderId = :razorpayOrderId WHERE h.holdId = :holdId")
+  int attachRazorpayOrder(@Param("holdId") Long holdId, @Param("razorpayOrderId") String razorpayOrderId);
+
+  /**
+   * Moves the given holds from one status to another with one statement. Holds no longer
+   * in the expected status are left alone, so when a conversion and a release race for
+   * the same hold only one of them updates it.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE InventoryHold h SET h.status = :status, h.updatedAt = CURRENT_INSTANT, h.updatedBy = :updatedBy "
+          + "WHERE h.holdId IN :holdIds AND h.status = :expectedStatus")
+  int updateStatuses(@Param("holdIds") Collection<Long> holdIds,
+                     @Param("expectedStatus") InventoryHoldStatus expectedStatus,
+                     @Param("status") InventoryHoldStatus status,
+                     @Param("updatedBy") String updatedBy);
+}
@@ -0,0 +1,22 @@
+package com.eazybytes.eazystore.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface InventoryHoldRepositoryCustom {
+
+    /**
+     * Locks those of the given holds that are still HELD, in ascending id order, and
+     * returns their ids. Holds locked by another transaction, such as a conversion in
+     * progress, are skipped rather than waited for.
+     */
+    List<Long> lockHeldHolds(Collection<Long> holdIds);
+
+    /**
+     * Locks up to {@code limit} of the HELD holds that expired before the given time,
+     * oldest first, and returns their ids. Rows locked by another transaction are
+     * skipped, so several nodes can release the same backlog in parallel.
+     */
+    List<Long> lockExpiredHolds(Instant expiredBefore, int limit);
+}
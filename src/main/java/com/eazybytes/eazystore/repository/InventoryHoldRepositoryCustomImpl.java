@@ -0,0 +1,38 @@
+package com.eazybytes.eazystore.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class InventoryHoldRepositoryCustomImpl implements InventoryHoldRepositoryCustom {
+
+    private static final String LOCK_HELD_HOLDS_SQL = "SELECT hold_id FROM inventory_holds "
+            + "WHERE hold_id IN (:holdIds) AND status = 'HELD' ORDER BY hold_id FOR UPDATE SKIP LOCKED";
+
+    private static final String LOCK_EXPIRED_HOLDS_SQL = "SELECT hold_id FROM inventory_holds "
+            + "WHERE status = 'HELD' AND expires_at < ? "
+            + "ORDER BY expires_at, hold_id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> lockHeldHolds(Collection<Long> holdIds) {
+        if (holdIds.isEmpty()) {
+            return List.of();
+        }
+        return new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(LOCK_HELD_HOLDS_SQL,
+                Map.of("holdIds", holdIds), Long.class);
+    }
+
+    @Override
+    public List<Long> lockExpiredHolds(Instant expiredBefore, int limit) {
+        return jdbcTemplate.queryForList(LOCK_EXPIRED_HOLDS_SQL, Long.class, Timestamp.from(expiredBefore), limit);
+    }
+}
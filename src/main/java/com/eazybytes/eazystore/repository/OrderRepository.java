@@ -4,15 +4,24 @@ import com.eazybytes.eazystore.entity.Contact;
 import com.eazybytes.eazystore.entity.Customer;
 import com.eazybytes.eazystore.entity.Order;
 import com.eazybytes.eazystore.entity.OrderStatus;
+import com.eazybytes.eazystore.repository.projection.OrderFingerprint;
+import com.eazybytes.eazystore.repository.projection.OrderHistoryRow;
+import com.eazybytes.eazystore.repository.projection.OrderKey;
+import com.eazybytes.eazystore.repository.projection.ProductImageRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>,
+        OrderRepositoryCustom {
 
   /**
    * Fetch orders for a customer, sorted by creation date in descending order.
@@ -36,14 +45,105 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
   , nativeQuery = true)
   List<Order> findOrdersByCustomerWithNativeQuery(@Param("customerId") Long customerId);
 
+  /**
+   * Order history of a customer as one row per order line, newest order first, so orders,
+   * items and product names are read in one query however many there are.
+   */
+  @Query("SELECT new com.eazybytes.eazystore.repository.projection.OrderHistoryRow("
+          + "o.orderId, o.orderStatus, o.totalPrice, o.createdAt, p.id, p.name, oi.quantity, oi.price) "
+          + "FROM Order o LEFT JOIN o.orderItems oi LEFT JOIN oi.product p "
+          + "WHERE o.customer.customerId = :customerId "
+          + "ORDER BY o.createdAt DESC, o.orderId DESC, oi.orderItemId")
+  List<OrderHistoryRow> findOrderHistoryRows(@Param("customerId") Long customerId);
+
+  /**
+   * Same as {@link #findOrderHistoryRows(Long)}, limited to orders in the given status.
+   */
+  @Query("SELECT new com.eazybytes.eazystore.repository.projection.OrderHistoryRow("
+          + "o.orderId, o.orderStatus, o.totalPrice, o.createdAt, p.id, p.name, oi.quantity, oi.price) "
+          + "FROM Order o LEFT JOIN o.orderItems oi LEFT JOIN oi.product p "
+          + "WHERE o.customer.customerId = :customerId AND o.orderStatus = :orderStatus "
+          + "ORDER BY o.createdAt DESC, o.orderId DESC, oi.orderItemId")
+  List<OrderHistoryRow> findOrderHistoryRows(@Param("customerId") Long customerId,
+                                             @Param("orderStatus") OrderStatus orderStatus);
+
+  /**
+   * Order lines of all customers' orders in the given status, oldest order first, in the
+   * shape of {@link #findOrderHistoryRows(Long)}.
+   */
+  @Query("SELECT new com.eazybytes.eazystore.repository.projection.OrderHistoryRow("
+          + "o.orderId, o.orderStatus, o.totalPrice, o.createdAt, p.id, p.name, oi.quantity, oi.price) "
+          + "FROM Order o LEFT JOIN o.orderItems oi LEFT JOIN oi.product p "
+          + "WHERE o.orderStatus = :orderStatus "
+          + "ORDER BY o.createdAt, o.orderId, oi.orderItemId")
+  List<OrderHistoryRow> findOrderHistoryRowsByStatus(@Param("orderStatus") OrderStatus orderStatus);
+
+  /**
+   * Same as {@link #findOrderHistoryRows(Long)}, limited to the given orders.
+   */
+  @Query("SELECT new com.eazybytes.eazystore.repository.projection.OrderHistoryRow("
+          + "o.orderId, o.orderStatus, o.totalPrice, o.createdAt, p.id, p.name, oi.quantity, oi.price) "
+          + "FROM Order o LEFT JOIN o.orderItems oi LEFT JOIN oi.product p "
+          + "WHERE o.orderId IN :orderIds "
+          + "ORDER BY o.createdAt DESC, o.orderId DESC, oi.orderItemId")
+  List<OrderHistoryRow> findOrderHistoryRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+  /**
+   * First page of a customer's order keys, newest first, read from the
+   * (customer_id, created_at, order_id) index.
+   */
+  @Query("SELECT new com.eazybytes.eazystore.repository.projection.OrderKey(o.orderId, o.createdAt) "
+          + "FROM Order o WHERE o.customer.customerId = :customerId "
+          + "ORDER BY o.createdAt DESC, o.orderId DESC")
+  List<OrderKey> findOrderKeys(@Param("customerId") Long customerId, Limit limit);
+
+  /**
+   * Page of a customer's order keys following the given position, newest first.
+   */
+  @Query("SELECT new com.eazybytes.eazystore.repository.projection.OrderKey(o.orderId, o.createdAt) "
+          + "FROM Order o WHERE o.customer.customerId = :customerId "
+          + "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.orderId < :orderId)) "
+          + "ORDER BY o.createdAt DESC, o.orderId DESC")
+  List<OrderKey> findOrderKeysAfter(@Param("customerId") Long customerId, @Param("createdAt") Instant createdAt,
+                                    @Param("orderId") Long orderId, Limit limit);
+
+  /**
+   * Image file names of the given products, for the order history rows.
+   */
+  @Query("SELECT new com.eazybytes.eazystore.repository.projection.ProductImageRow(p.id, f) "
+          + "FROM Product p JOIN p.imageFileNames f WHERE p.id IN :productIds")
+  List<ProductImageRow> findProductImageRows(@Param("productIds") Collection<Long> productIds);
+
   // Keep native query as String since it's a direct SQL query
   @Query(value = "SELECT * FROM orders o WHERE o.order_status = :status", nativeQuery = true)
   List<Order> findOrdersByStatusWithNativeQuery(@Param("status") String status);
 
   @Transactional
   @Modifying
-  @Query("UPDATE Order o SET o.orderStatus = :orderStatus, o.updatedAt = CURRENT_TIMESTAMP, o.updatedBy = :updatedBy WHERE o.orderId = :orderId")
+  @Query("UPDATE Order o SET o.orderStatus = :orderStatus, o.updatedAt = CURRENT_INSTANT, o.updatedBy = :updatedBy WHERE o.orderId = :orderId")
   int updateOrderStatus(@Param("orderId") Long orderId, 
                       @Param("orderStatus") OrderStatus orderStatus,
                       @Param("updatedBy") String updatedBy);
-}
\ No newline at end of file
+
+  /**
+   * Moves the given orders to a new status with one statement; the caller has checked the
+   * transitions of the locked rows.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE Order o SET o.orderStatus = :orderStatus, o.updatedAt = CURRENT_INSTANT, o.updatedBy = :updatedBy "
+          + "WHERE o.orderId IN :orderIds")
+  int updateOrderStatuses(@Param("orderIds") Collection<Long> orderIds,
+                          @Param("orderStatus") OrderStatus orderStatus,
+                          @Param("updatedBy") String updatedBy);
+
+  /**
+   * The order a customer created for a payment; more than one only for orders that
+   * predate the unique payment id.
+   */
+  @Query("SELECT new com.eazybytes.eazystore.repository.projection.OrderFingerprint("
+          + "o.orderId, o.requestFingerprint) "
+          + "FROM Order o WHERE o.customer.customerId = :customerId AND o.paymentId = :paymentId "
+          + "ORDER BY o.orderId")
+  List<OrderFingerprint> findOrderFingerprintsByPaymentId(@Param("customerId") Long customerId,
+                                                          @Param("paymentId") String paymentId);
+}
@@ -0,0 +1,28 @@
+package com.eazybytes.eazystore.repository;
+
+import com.eazybytes.eazystore.entity.OrderStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Locks the given orders for a status change, in ascending id order so concurrent
+     * changes cannot deadlock, and returns their current status by id. Read with plain
+     * JDBC so orders already in the persistence context cannot hide a newer status.
+     * Unknown ids are missing from the result.
+     */
+    Map<Long, OrderStatus> lockOrderStatuses(Collection<Long> orderIds);
+
+    /**
+     * Locks up to {@code limit} of the oldest unpaid PENDING orders created before the
+     * given time whose stock was reserved, and returns their ids. Paid PENDING orders are
+     * waiting for an admin to confirm them and are never picked. Rows locked by another
+     * transaction are skipped rather than waited for, so several nodes can work through
+     * the same backlog in parallel, each on its own orders.
+     */
+    List<Long> lockPendingOrdersCreatedBefore(Instant createdBefore, int limit);
+}
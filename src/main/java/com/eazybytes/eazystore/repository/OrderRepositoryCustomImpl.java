@@ -0,0 +1,45 @@
+package com.eazybytes.eazystore.repository;
+
+import com.eazybytes.eazystore.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String LOCK_ORDER_STATUSES_SQL =
+            "SELECT order_id, order_status FROM orders WHERE order_id IN (:orderIds) ORDER BY order_id FOR UPDATE";
+
+    private static final String LOCK_PENDING_ORDERS_SQL = "SELECT order_id FROM orders "
+            + "WHERE order_status = 'PENDING' AND payment_status <> 'PAID' AND stock_reserved = TRUE "
+            + "AND created_at < ? "
+            + "ORDER BY created_at, order_id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Long, OrderStatus> lockOrderStatuses(Collection<Long> orderIds) {
+        Map<Long, OrderStatus> statuses = new LinkedHashMap<>();
+        if (orderIds.isEmpty()) {
+            return statuses;
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(LOCK_ORDER_STATUSES_SQL, Map.of("orderIds", orderIds),
+                rs -> {
+                    statuses.put(rs.getLong("order_id"), OrderStatus.valueOf(rs.getString("order_status")));
+                });
+        return statuses;
+    }
+
+    @Override
+    public List<Long> lockPendingOrdersCreatedBefore(Instant createdBefore, int limit) {
+        return jdbcTemplate.queryForList(LOCK_PENDING_ORDERS_SQL, Long.class, Timestamp.from(createdBefore), limit);
+    }
+}
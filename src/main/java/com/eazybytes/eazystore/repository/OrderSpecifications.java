@@ -0,0 +1,48 @@
+package com.eazybytes.eazystore.repository;
+
+import com.eazybytes.eazystore.dto.AdminOrderQuery;
+import com.eazybytes.eazystore.entity.Order;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Builds the filter predicates of an admin order query; status and creation time are
+     * served by the (order_status, created_at) index
+     */
+    public static Specification<Order> matching(AdminOrderQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("orderStatus"), query.status()));
+            if (query.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), query.from()));
+            }
+            if (query.to() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), query.to()));
+            }
+            if (query.customerId() != null) {
+                predicates.add(cb.equal(root.get("customer").get("customerId"), query.customerId()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Restricts the result to orders after the given keyset position in ascending
+     * (created at, id) order
+     */
+    public static Specification<Order> after(Instant createdAt, Long orderId) {
+        return (root, criteriaQuery, cb) -> cb.or(cb.greaterThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt),
+                        cb.greaterThan(root.get("orderId"), orderId)));
+    }
+}
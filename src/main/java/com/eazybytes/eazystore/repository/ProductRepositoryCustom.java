@@ -0,0 +1,31 @@
+package com.eazybytes.eazystore.repository;
+
+import java.util.Collection;
+import java.util.SortedMap;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Takes the quantities off the stock of several products as one JDBC batch of
+     * conditional updates, in ascending product id order. Each update applies only if
+     * enough is left and locks its row until the transaction ends. Returns the update
+     * count per product in the iteration order of the map, 0 where the product is missing
+     * or short of stock.
+     */
+    int[] reserveStockBatch(SortedMap<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Puts the quantities of the items of the given orders back into stock, summed per
+     * product and applied as one JDBC batch in ascending product id order, the lock order
+     * of {@link #reserveStockBatch}. Orders whose stock was never reserved are skipped.
+     * Returns the number of products updated.
+     */
+    int releaseStockOfOrders(Collection<Long> orderIds);
+
+    /**
+     * Puts the quantities of the given inventory holds back into stock, summed per
+     * product and applied like {@link #releaseStockOfOrders}. Returns the number of
+     * products updated.
+     */
+    int releaseStockOfHolds(Collection<Long> holdIds);
+}
@@ -0,0 +1,65 @@
+package com.eazybytes.eazystore.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+@RequiredArgsConstructor
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String RESERVE_STOCK_SQL =
+            "UPDATE products SET quantity = quantity - ? WHERE product_id = ? AND quantity >= ?";
+
+    // Orders placed before stock was reserved at order time took nothing to put back
+    private static final String ORDER_QUANTITIES_SQL = "SELECT oi.product_id, SUM(oi.quantity) AS quantity "
+            + "FROM order_items oi JOIN orders o ON o.order_id = oi.order_id "
+            + "WHERE oi.order_id IN (:orderIds) AND o.stock_reserved = TRUE "
+            + "GROUP BY oi.product_id ORDER BY oi.product_id";
+
+    private static final String HOLD_QUANTITIES_SQL = "SELECT product_id, SUM(quantity) AS quantity "
+            + "FROM inventory_hold_items WHERE hold_id IN (:holdIds) GROUP BY product_id ORDER BY product_id";
+
+    private static final String RELEASE_STOCK_SQL =
+            "UPDATE products SET quantity = quantity + ? WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] reserveStockBatch(SortedMap<Long, Integer> quantitiesByProductId) {
+        List<Object[]> batchArgs = new ArrayList<>(quantitiesByProductId.size());
+        for (Map.Entry<Long, Integer> entry : quantitiesByProductId.entrySet()) {
+            batchArgs.add(new Object[]{entry.getValue(), entry.getKey(), entry.getValue()});
+        }
+        return jdbcTemplate.batchUpdate(RESERVE_STOCK_SQL, batchArgs);
+    }
+
+    @Override
+    public int releaseStockOfOrders(Collection<Long> orderIds) {
+        return releaseStock(ORDER_QUANTITIES_SQL, "orderIds", orderIds);
+    }
+
+    @Override
+    public int releaseStockOfHolds(Collection<Long> holdIds) {
+        return releaseStock(HOLD_QUANTITIES_SQL, "holdIds", holdIds);
+    }
+
+    private int releaseStock(String quantitiesSql, String idsParameter, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> batchArgs = new NamedParameterJdbcTemplate(jdbcTemplate).query(quantitiesSql,
+                Map.of(idsParameter, ids),
+                (rs, rowNum) -> new Object[]{rs.getInt("quantity"), rs.getLong("product_id")});
+        if (batchArgs.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(RELEASE_STOCK_SQL, batchArgs);
+        return batchArgs.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.eazybytes.eazystore.repository;
+
+import com.eazybytes.eazystore.dto.ProductCatalogQuery;
+import com.eazybytes.eazystore.dto.ProductSortField;
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
+import com.eazybytes.eazystore.util.KeysetCursor;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Builds the filter predicates of a catalog query
+     */
+    public static Specification<Product> matching(ProductCatalogQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.category() != null) {
+                predicates.add(cb.equal(root.get("category"), query.category()));
+            }
+            if (query.subcategory() != null) {
+                predicates.add(cb.equal(root.get("subcategory"), query.subcategory()));
+            }
+            if (query.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), query.minPrice()));
+            }
+            if (query.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), query.maxPrice()));
+            }
+            // MEMBER OF renders as an EXISTS sub-query, so no join duplicates rows
+            if (query.color() != null) {
+                predicates.add(cb.isMember(query.color(), root.<List<String>>get("colors")));
+            }
+            if (query.size() != null) {
+                predicates.add(cb.isMember(query.size(), root.<List<String>>get("sizes")));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Restricts the result to rows after the cursor in (sort value, id) order. The sort value
+     * is parsed here, so a cursor written for another sort field is rejected as invalid.
+     */
+    public static Specification<Product> after(KeysetCursor cursor, ProductSortField sort, Sort.Direction direction) {
+        String value = cursor.sortValue();
+        try {
+            return switch (sort) {
+                case POPULARITY -> after(sort.getProperty(), Integer.valueOf(value), cursor.id(), direction);
+                case PRICE -> after(sort.getProperty(), new BigDecimal(value), cursor.id(), direction);
+                case CREATED_AT -> after(sort.getProperty(), Instant.parse(value), cursor.id(), direction);
+            };
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor.encode());
+        }
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Product> after(String property, T value, Long id,
+            Sort.Direction direction) {
+        return (root, criteriaQuery, cb) -> {
+            Path<T> sortPath = root.get(property);
+            if (direction.isAscending()) {
+                return cb.or(cb.greaterThan(sortPath, value),
+                        cb.and(cb.equal(sortPath, value), cb.greaterThan(root.get("id"), id)));
+            }
+            return cb.or(cb.lessThan(sortPath, value),
+                    cb.and(cb.equal(sortPath, value), cb.lessThan(root.get("id"), id)));
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.eazybytes.eazystore.repository;
+
+import com.eazybytes.eazystore.entity.UnfulfilledPayment;
+import com.eazybytes.eazystore.entity.UnfulfilledPaymentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface UnfulfilledPaymentRepository extends JpaRepository<UnfulfilledPayment, Long> {
+
+  boolean existsByPaymentId(String paymentId);
+
+  List<UnfulfilledPayment> findByStatusOrderByCreatedAtAsc(UnfulfilledPaymentStatus status);
+}
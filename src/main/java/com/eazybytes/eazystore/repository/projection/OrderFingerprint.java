@@ -0,0 +1,8 @@
+package com.eazybytes.eazystore.repository.projection;
+
+/**
+ * An order with the fingerprint of the request that created it, null for orders created
+ * before requests were fingerprinted.
+ */
+public record OrderFingerprint(Long orderId, String requestFingerprint) {
+}
@@ -0,0 +1,14 @@
+package com.eazybytes.eazystore.repository.projection;
+
+import com.eazybytes.eazystore.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One order line of the order history, flattened with its order and product name. The
+ * item columns are null for an order without items.
+ */
+public record OrderHistoryRow(Long orderId, OrderStatus orderStatus, BigDecimal totalPrice, Instant createdAt,
+                              Long productId, String productName, Integer quantity, BigDecimal price) {
+}
@@ -0,0 +1,9 @@
+package com.eazybytes.eazystore.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Keyset position of an order in the newest-first order history.
+ */
+public record OrderKey(Long orderId, Instant createdAt) {
+}
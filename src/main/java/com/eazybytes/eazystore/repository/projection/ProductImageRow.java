@@ -0,0 +1,7 @@
+package com.eazybytes.eazystore.repository.projection;
+
+/**
+ * One image file name of a product.
+ */
+public record ProductImageRow(Long productId, String imageFileName) {
+}
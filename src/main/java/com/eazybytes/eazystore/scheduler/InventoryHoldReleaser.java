@@ -0,0 +1,159 @@
+package com.eazybytes.eazystore.scheduler;
+
+import com.eazybytes.eazystore.entity.InventoryHold;
+import com.eazybytes.eazystore.service.IInventoryHoldService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases expired inventory holds. Holds placed on this node are queued by expiry in a
+ * {@link DelayQueue}; a single thread waits for the earliest one and releases it together
+ * with every other hold that has expired by then, as one transaction. Converted holds are
+ * not removed from the queue, their release finds them no longer HELD and skips them.
+ * <p>
+ * The queue is lost on shutdown, so a periodic sweep also releases expired holds from the
+ * database, in chunks locked with {@code FOR UPDATE SKIP LOCKED} like the pending order
+ * sweep. It runs on every node and picks up holds of nodes that stopped.
+ */
+@Slf4j
+@Component
+public class InventoryHoldReleaser implements SmartLifecycle {
+
+    private static final Duration STOP_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final IInventoryHoldService inventoryHoldService;
+    private final int batchSize;
+    private final int maxChunksPerSweep;
+    private final Counter timerReleases;
+    private final Counter sweepReleases;
+    private final DelayQueue<ExpiringHold> expiringHolds = new DelayQueue<>();
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    public InventoryHoldReleaser(IInventoryHoldService inventoryHoldService, MeterRegistry meterRegistry,
+            @Value("${eazystore.inventory.holds.release-batch-size:200}") int batchSize,
+            @Value("${eazystore.inventory.holds.max-chunks-per-sweep:50}") int maxChunksPerSweep) {
+        this.inventoryHoldService = inventoryHoldService;
+        this.batchSize = batchSize;
+        this.maxChunksPerSweep = maxChunksPerSweep;
+        this.timerReleases = Counter.builder("inventory.holds.released")
+                .description("Expired inventory holds released and put back into stock")
+                .tag("trigger", "timer")
+                .register(meterRegistry);
+        this.sweepReleases = Counter.builder("inventory.holds.released")
+                .description("Expired inventory holds released and put back into stock")
+                .tag("trigger", "sweep")
+                .register(meterRegistry);
+        meterRegistry.gaugeCollectionSize("inventory.holds.queued", List.of(), expiringHolds);
+    }
+
+    /**
+     * Queues the release of a hold for its expiry.
+     */
+    public void schedule(InventoryHold hold) {
+        expiringHolds.add(new ExpiringHold(hold.getHoldId(), hold.getExpiresAt()));
+    }
+
+    @Scheduled(fixedDelayString = "${eazystore.inventory.holds.sweep-interval:PT5M}",
+            initialDelayString = "${eazystore.inventory.holds.sweep-interval:PT5M}")
+    public void sweep() {
+        Instant now = Instant.now();
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerSweep; chunk++) {
+            int count = inventoryHoldService.releaseExpiredHolds(now, batchSize);
+            total += count;
+            sweepReleases.increment(count);
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Released {} inventory holds expired before {}", total, now);
+        }
+    }
+
+    private void releaseExpiredHolds() {
+        List<ExpiringHold> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // Bounded wait, so a stop is noticed without interrupting a release
+                ExpiringHold first = expiringHolds.poll(STOP_POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                expiringHolds.drainTo(batch, batchSize - 1);
+                int released = inventoryHoldService.releaseHolds(batch.stream().map(ExpiringHold::holdId).toList());
+                timerReleases.increment(released);
+                log.debug("Released {} of {} expired inventory holds", released, batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Left to the database sweep
+                log.error("Failed to release {} expired inventory holds: {}", batch.size(), e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("inventory-hold-releaser").daemon().start(this::releaseExpiredHolds);
+    }
+
+    /**
+     * Lets a release in progress commit, then waits for the worker to notice the stop.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        worker = null;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.join(STOP_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (current.isAlive()) {
+            log.warn("Inventory hold releaser did not stop within {}, leaving it to finish", STOP_TIMEOUT);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private record ExpiringHold(Long holdId, Instant expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAt.toEpochMilli() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return expiresAt.compareTo(((ExpiringHold) other).expiresAt);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.eazybytes.eazystore.scheduler;
+
+import com.eazybytes.eazystore.service.IOrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Cancels unpaid orders left PENDING longer than the TTL, typically abandoned payments,
+ * and puts their stock back. Paid PENDING orders wait for an admin and are left alone, as
+ * are orders placed before stock was reserved at order time. Disabled by default: enable
+ * it only where orders are created PENDING before they are paid.
+ * <p>
+ * Each chunk is one transaction that locks its orders with {@code FOR UPDATE SKIP LOCKED},
+ * so the sweeper may run on every node: concurrent sweeps take disjoint chunks instead of
+ * waiting on each other. A run stops after {@code max-chunks-per-run} chunks and the next
+ * run picks up the rest.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "eazystore.orders.pending-sweeper.enabled", havingValue = "true")
+public class PendingOrderSweeper {
+
+    private final IOrderService orderService;
+    private final Duration ttl;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Counter cancelledOrders;
+    private final Timer sweepTimer;
+
+    public PendingOrderSweeper(IOrderService orderService, MeterRegistry meterRegistry,
+            @Value("${eazystore.orders.pending-sweeper.ttl:PT30M}") Duration ttl,
+            @Value("${eazystore.orders.pending-sweeper.chunk-size:200}") int chunkSize,
+            @Value("${eazystore.orders.pending-sweeper.max-chunks-per-run:50}") int maxChunksPerRun) {
+        this.orderService = orderService;
+        this.ttl = ttl;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.cancelledOrders = Counter.builder("orders.pending.sweeper.cancelled")
+                .description("PENDING orders cancelled after their TTL expired")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("orders.pending.sweeper.duration")
+                .description("Time taken by one run of the pending order sweeper")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${eazystore.orders.pending-sweeper.interval:PT1M}",
+            initialDelayString = "${eazystore.orders.pending-sweeper.interval:PT1M}")
+    public void sweep() {
+        Instant createdBefore = Instant.now().minus(ttl);
+        int cancelled = sweepTimer.record(() -> {
+            int total = 0;
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                int count = orderService.cancelExpiredPendingOrders(createdBefore, chunkSize);
+                total += count;
+                cancelledOrders.increment(count);
+                if (count < chunkSize) {
+                    break;
+                }
+            }
+            return total;
+        });
+        if (cancelled > 0) {
+            log.info("Cancelled {} unpaid PENDING orders created before {}", cancelled, createdBefore);
+        }
+    }
+}
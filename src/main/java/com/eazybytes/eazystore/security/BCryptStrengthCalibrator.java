@@ -0,0 +1,46 @@
+package com.eazybytes.eazystore.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt strength for this machine: the highest cost whose hashing time
+ * stays within the target latency. Each cost step doubles the work, so the time is
+ * measured once at the minimum strength and extrapolated from there.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final int SAMPLES = 5;
+    private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+
+    private BCryptStrengthCalibrator() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        String hash = encoder.encode(SAMPLE_PASSWORD); // warm-up
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long medianNanos = samples[SAMPLES / 2];
+
+        int strength = minStrength;
+        long estimatedNanos = medianNanos;
+        while (strength < maxStrength && estimatedNanos * 2 <= targetLatency.toNanos()) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+        log.info("BCrypt strength {} selected, about {} ms per hash (target {} ms, {} ms at strength {})",
+                strength, estimatedNanos / 1_000_000, targetLatency.toMillis(), medianNanos / 1_000_000, minStrength);
+        return strength;
+    }
+}
@@ -0,0 +1,90 @@
+package com.eazybytes.eazystore.security;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Builds the index read by {@link LocalCompromisedPasswordChecker} from the published
+ * HaveIBeenPwned SHA-1 dump, i.e. lines of {@code HASH:COUNT} ordered by hash. Each hash
+ * is written as 20 raw bytes, so the index is about half the size of the text dump.
+ * <p>
+ * Usage: {@code BreachedPasswordIndexImporter <dump.txt> <index.bin> [minCount]}; hashes
+ * seen fewer than minCount times are skipped to shrink the index.
+ * With the application jar:
+ * {@code java -cp eazystore.jar -Dloader.main=com.eazybytes.eazystore.security.BreachedPasswordIndexImporter
+ * org.springframework.boot.loader.launch.PropertiesLauncher <dump.txt> <index.bin>}
+ */
+public final class BreachedPasswordIndexImporter {
+
+    private BreachedPasswordIndexImporter() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BreachedPasswordIndexImporter <dump.txt> <index.bin> [minCount]");
+            System.exit(2);
+        }
+        long minCount = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        long written = importDump(Path.of(args[0]), Path.of(args[1]), minCount);
+        System.out.println("Wrote " + written + " hashes to " + args[1]);
+    }
+
+    /**
+     * Writes the index to a temporary file next to the target and moves it into place
+     * once complete, so a running application never maps a partial index.
+     */
+    public static long importDump(Path dump, Path index, long minCount) throws IOException {
+        Path parent = index.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tempFile = Files.createTempFile(parent, index.getFileName().toString(), ".tmp");
+        HexFormat hex = HexFormat.of();
+        long written = 0;
+        long lineNumber = 0;
+        byte[] previous = null;
+        try (BufferedReader reader = Files.newBufferedReader(dump, StandardCharsets.US_ASCII);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile), 1 << 20)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int separator = line.indexOf(':');
+                String hash = (separator < 0 ? line : line.substring(0, separator)).trim();
+                if (hash.length() != LocalCompromisedPasswordChecker.RECORD_SIZE * 2) {
+                    throw new IOException("Line " + lineNumber + " is not a SHA-1 hash: " + line);
+                }
+                if (separator >= 0 && Long.parseLong(line.substring(separator + 1).trim()) < minCount) {
+                    continue;
+                }
+                byte[] record = hex.parseHex(hash);
+                if (previous != null) {
+                    int cmp = Arrays.compareUnsigned(previous, record);
+                    if (cmp > 0) {
+                        throw new IOException("Dump is not ordered by hash at line " + lineNumber);
+                    }
+                    if (cmp == 0) {
+                        continue;
+                    }
+                }
+                out.write(record);
+                previous = record;
+                written++;
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        Files.move(tempFile, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+}
@@ -0,0 +1,17 @@
+package com.eazybytes.eazystore.security;
+
+import java.security.Principal;
+
+/**
+ * The authenticated customer as carried by the JWT, so request handling can identify
+ * the caller without loading the customer. {@link #getName()} returns the email, which
+ * keeps {@code Authentication.getName()} unchanged. The id is null for tokens issued
+ * before it was added to the claims.
+ */
+public record CustomerPrincipal(Long customerId, String email, String name) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,7 +1,9 @@
 package com.eazybytes.eazystore.security;
 
 import com.eazybytes.eazystore.filter.JWTTokenValidatorFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,6 +16,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.password.HaveIBeenPwnedRestApiPasswordChecker;
@@ -22,17 +25,25 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class EazyStoreSecurityConfig {
 
     private final List<String> publicPaths;
+    private final PublicPathMatcher publicPathMatcher;
+    private final JwtTokenVerifier jwtTokenVerifier;
 
     @Bean
     SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) throws Exception {
@@ -44,6 +55,9 @@ public class EazyStoreSecurityConfig {
 
         // Configure authorization - ORDER IS IMPORTANT: More specific rules first
         http.authorizeHttpRequests(auth -> {
+            // Completion of async responses (streamed bodies), authorized on the initial dispatch
+            auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
+
             // Public endpoints from configuration
             publicPaths.forEach(path -> auth.requestMatchers(path).permitAll());
             
@@ -70,7 +84,7 @@ public class EazyStoreSecurityConfig {
         });
 
         // Add JWT filter
-        http.addFilterBefore(new JWTTokenValidatorFilter(publicPaths), BasicAuthenticationFilter.class);
+        http.addFilterBefore(new JWTTokenValidatorFilter(publicPathMatcher, jwtTokenVerifier), BasicAuthenticationFilter.class);
 
         // Disable form login and basic auth for API
         http.formLogin(form -> form.disable());
@@ -97,14 +111,45 @@ public class EazyStoreSecurityConfig {
         return providerManager;
     }
 
+    /**
+     * New hashes are stored as {bcrypt} at the calibrated strength. Hashes without an id
+     * prefix are the plain BCrypt hashes stored before and still match; upgradeEncoding
+     * reports them, and hashes of a lower strength, so they are re-hashed on next login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${eazystore.security.bcrypt.strength:0}") int strength,
+            @Value("${eazystore.security.bcrypt.target-latency:PT0.25S}") Duration targetLatency,
+            @Value("${eazystore.security.bcrypt.min-strength:10}") int minStrength,
+            @Value("${eazystore.security.bcrypt.max-strength:14}") int maxStrength) {
+        int bcryptStrength = strength > 0 ? strength
+                : BCryptStrengthCalibrator.calibrate(targetLatency, minStrength, maxStrength);
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
     }
 
+    /**
+     * Uses the local breached-password index when one is configured, so registrations do
+     * not wait on an outbound call; without it the HaveIBeenPwned API is queried.
+     */
     @Bean
-    public CompromisedPasswordChecker compromisedPasswordChecker() {
-        return new HaveIBeenPwnedRestApiPasswordChecker();
+    public CompromisedPasswordChecker compromisedPasswordChecker(
+            @Value("${eazystore.security.breached-password-index.path:}") String indexPath) throws IOException {
+        if (indexPath.isBlank()) {
+            log.warn("No breached password index configured, checking passwords against the HaveIBeenPwned API");
+            return new HaveIBeenPwnedRestApiPasswordChecker();
+        }
+        Path indexFile = Path.of(indexPath);
+        if (!Files.isReadable(indexFile)) {
+            log.warn("Breached password index {} not found, checking passwords against the HaveIBeenPwned API",
+                    indexFile);
+            return new HaveIBeenPwnedRestApiPasswordChecker();
+        }
+        LocalCompromisedPasswordChecker checker = new LocalCompromisedPasswordChecker(indexFile);
+        log.info("Loaded breached password index {} with {} hashes", indexFile, checker.size());
+        return checker;
     }
 
     @Value("${frontend.url:http://localhost:3000}")
@@ -163,7 +208,8 @@ public class EazyStoreSecurityConfig {
         config.setExposedHeaders(Arrays.asList(
 "Authorization",
             "Content-Type",
-            "Content-Disposition"
+            "Content-Disposition",
+            "Idempotent-Replayed"
         ));
         
         // Set max age for preflight requests (1 hour)
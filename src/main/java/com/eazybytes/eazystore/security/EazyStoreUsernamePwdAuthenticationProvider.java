@@ -41,6 +41,12 @@ public class EazyStoreUsernamePwdAuthenticationProvider implements Authenticatio
                 .map(role -> new SimpleGrantedAuthority(role.getName()))
                 .toList();
         if(passwordEncoder.matches(pwd, customer.getPasswordHash())) {
+            if (passwordEncoder.upgradeEncoding(customer.getPasswordHash())) {
+                // Re-hash legacy or weaker hashes while the raw password is at hand
+                String upgradedHash = passwordEncoder.encode(pwd);
+                customerRepository.updatePasswordHash(customer.getCustomerId(), upgradedHash);
+                customer.setPasswordHash(upgradedHash);
+            }
             return new UsernamePasswordAuthenticationToken(customer,null,
                     authorities);
         } else {
@@ -0,0 +1,123 @@
+package com.eazybytes.eazystore.security;
+
+import com.eazybytes.eazystore.constants.ApplicationConstants;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Holds the HMAC key used to sign and verify JWTs together with the parser built for it.
+ * Both are derived once and replaced atomically when the configured secret changes, so
+ * request threads never rebuild them and always see a consistent key/parser pair.
+ * <p>
+ * The secret is read from the file named by {@code eazystore.jwt.secret-file}, such as a
+ * mounted secret volume, when one is configured; the file is polled and a changed secret
+ * rotates the key without a restart. Otherwise the secret comes from {@code JWT_SECRET},
+ * which cannot change in a running JVM, so rotating it requires a restart.
+ */
+@Slf4j
+@Component
+public class JwtKeyProvider {
+
+    private final Environment env;
+    private final Path secretFile;
+    private final AtomicReference<JwtKeys> keys = new AtomicReference<>();
+    private final List<Consumer<JwtKeys>> rotationListeners = new CopyOnWriteArrayList<>();
+
+    public JwtKeyProvider(Environment env) {
+        this.env = env;
+        String secretFileName = env.getProperty("eazystore.jwt.secret-file");
+        this.secretFile = secretFileName == null || secretFileName.isBlank() ? null : Path.of(secretFileName);
+        try {
+            this.keys.set(JwtKeys.of(readSecret()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read the JWT secret from " + secretFile, e);
+        }
+    }
+
+    public SecretKey getSigningKey() {
+        return keys.get().signingKey();
+    }
+
+    public JwtParser getParser() {
+        return keys.get().parser();
+    }
+
+    /**
+     * Registers a callback invoked after the key was rotated
+     */
+    public void onRotation(Consumer<JwtKeys> listener) {
+        rotationListeners.add(listener);
+    }
+
+    /**
+     * Re-reads the secret file and swaps in a new key and parser if the secret changed.
+     * Tokens signed with the previous secret are rejected from then on. Does nothing
+     * without a secret file. A file that cannot be read or holds an unusable secret
+     * keeps the current key.
+     */
+    @Scheduled(fixedDelayString = "${eazystore.jwt.secret-reload-interval:PT1M}")
+    public void reload() {
+        if (secretFile == null) {
+            return;
+        }
+        JwtKeys current = keys.get();
+        JwtKeys rotated;
+        try {
+            String secret = readSecret();
+            if (current.matches(secret)) {
+                return;
+            }
+            rotated = JwtKeys.of(secret);
+        } catch (IOException | RuntimeException e) {
+            // Unreadable, empty or too short for HMAC-SHA
+            log.warn("Cannot use the JWT secret from {}, keeping the current key: {}", secretFile, e.getMessage());
+            return;
+        }
+        if (keys.compareAndSet(current, rotated)) {
+            log.info("JWT signing secret changed, rotated signing key");
+            rotationListeners.forEach(listener -> listener.accept(rotated));
+        }
+    }
+
+    private String readSecret() throws IOException {
+        if (secretFile == null) {
+            return env.getProperty(ApplicationConstants.JWT_SECRET_KEY,
+                    ApplicationConstants.JWT_SECRET_DEFAULT_VALUE);
+        }
+        // Secret files usually end with a newline that is not part of the secret
+        String secret = Files.readString(secretFile, StandardCharsets.UTF_8).strip();
+        if (secret.isEmpty()) {
+            throw new IllegalArgumentException("The JWT secret file " + secretFile + " is empty");
+        }
+        return secret;
+    }
+
+    public record JwtKeys(SecretKey signingKey, JwtParser parser) {
+
+        static JwtKeys of(String secret) {
+            SecretKey secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            return new JwtKeys(secretKey, Jwts.parser().verifyWith(secretKey).build());
+        }
+
+        boolean matches(String secret) {
+            return MessageDigest.isEqual(signingKey.getEncoded(),
+                    secret.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.eazybytes.eazystore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies bearer tokens and remembers the claims of verified ones, so repeated requests
+ * with the same token skip the HMAC check and claim parsing. Entries are keyed by the
+ * SHA-256 of the token, never the token itself, and live no longer than the token's
+ * expiration; the whole cache is dropped when the signing key rotates.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtKeyProvider jwtKeyProvider;
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtTokenVerifier(JwtKeyProvider jwtKeyProvider, MeterRegistry meterRegistry,
+            @Value("${eazystore.jwt.verified-token-cache.max-size:10000}") long maxSize) {
+        this.jwtKeyProvider = jwtKeyProvider;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+        jwtKeyProvider.onRotation(keys -> verifiedTokens.invalidateAll());
+    }
+
+    /**
+     * Returns the claims of a valid token, or throws the parser's JwtException for an
+     * invalid, tampered or expired one.
+     */
+    public Claims verify(String token) {
+        String tokenHash = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(tokenHash);
+        if (claims == null) {
+            claims = jwtKeyProvider.getParser().parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, claims);
+            }
+        }
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.eazybytes.eazystore.security;
+
+import org.springframework.security.authentication.password.CompromisedPasswordChecker;
+import org.springframework.security.authentication.password.CompromisedPasswordDecision;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Checks passwords against a local index of breached password hashes instead of calling
+ * the HaveIBeenPwned API. The index is a file of sorted, raw 20-byte SHA-1 hashes as
+ * written by {@link BreachedPasswordIndexImporter}. It is memory-mapped in chunks of up
+ * to 2 GB and searched with a binary search, so a lookup touches a few dozen pages and
+ * takes microseconds, with the OS page cache keeping the hot part in memory.
+ */
+public class LocalCompromisedPasswordChecker implements CompromisedPasswordChecker {
+
+    static final int RECORD_SIZE = 20;
+    private static final int RECORDS_PER_CHUNK = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private final MappedByteBuffer[] chunks;
+    private final long recordCount;
+
+    public LocalCompromisedPasswordChecker(Path indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % RECORD_SIZE != 0) {
+                throw new IOException("Breached password index " + indexFile
+                        + " is not a multiple of " + RECORD_SIZE + " bytes");
+            }
+            this.recordCount = size / RECORD_SIZE;
+            int chunkCount = (int) ((recordCount + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK);
+            this.chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long offset = (long) i * RECORDS_PER_CHUNK * RECORD_SIZE;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min((long) RECORDS_PER_CHUNK * RECORD_SIZE, size - offset));
+            }
+        }
+    }
+
+    public long size() {
+        return recordCount;
+    }
+
+    @Override
+    public CompromisedPasswordDecision check(String password) {
+        if (password == null) {
+            return new CompromisedPasswordDecision(false);
+        }
+        return new CompromisedPasswordDecision(contains(sha1(password)));
+    }
+
+    boolean contains(byte[] hash) {
+        ByteBuffer key = ByteBuffer.wrap(hash);
+        long first = key.getLong(0);
+        long second = key.getLong(8);
+        int last = key.getInt(16);
+        long low = 0;
+        long high = recordCount - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int cmp = compareRecord(mid, first, second, last);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares the record at the given index with the hash as an unsigned big-endian number
+     */
+    private int compareRecord(long index, long first, long second, int last) {
+        MappedByteBuffer chunk = chunks[(int) (index / RECORDS_PER_CHUNK)];
+        int offset = (int) (index % RECORDS_PER_CHUNK) * RECORD_SIZE;
+        int cmp = Long.compareUnsigned(chunk.getLong(offset), first);
+        if (cmp == 0) {
+            cmp = Long.compareUnsigned(chunk.getLong(offset + 8), second);
+        }
+        if (cmp == 0) {
+            cmp = Integer.compareUnsigned(chunk.getInt(offset + 16), last);
+        }
+        return cmp;
+    }
+
+    static byte[] sha1(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+}
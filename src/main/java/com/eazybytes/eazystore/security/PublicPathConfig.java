@@ -40,4 +40,9 @@ public class PublicPathConfig {
       );
     }
 
+    @Bean
+    public PublicPathMatcher publicPathMatcher(List<String> publicPaths) {
+        return new PublicPathMatcher(publicPaths);
+    }
+
 }
@@ -0,0 +1,111 @@
+package com.eazybytes.eazystore.security;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides whether a request path is public, compiled once from the configured
+ * Ant-style patterns into a trie of literal path segments. Literal paths and literal
+ * prefixes ending in {@code /**} are answered by the trie itself; any other pattern is
+ * hung off the node of its literal prefix and evaluated with {@link AntPathMatcher}, so
+ * its semantics are unchanged but it is only evaluated for requests below that prefix.
+ * A lookup is a single walk over the request path, independent of how many patterns are
+ * configured. Like AntPathMatcher, repeated slashes in the request path are ignored.
+ */
+public final class PublicPathMatcher {
+
+    private static final String ANY_SUFFIX = "/**";
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final Node root = new Node();
+
+    public PublicPathMatcher(List<String> publicPaths) {
+        for (String publicPath : publicPaths) {
+            String prefix = publicPath.endsWith(ANY_SUFFIX)
+                    ? publicPath.substring(0, publicPath.length() - ANY_SUFFIX.length()) : null;
+            if (prefix != null && isLiteral(prefix)) {
+                insert(segments(prefix)).anySubpath = true;
+            } else if (isLiteral(publicPath)) {
+                insert(segments(publicPath)).exact = true;
+            } else {
+                List<String> literalPrefix = new ArrayList<>();
+                for (String segment : segments(publicPath)) {
+                    if (!isLiteral("/" + segment)) {
+                        break;
+                    }
+                    literalPrefix.add(segment);
+                }
+                insert(literalPrefix).patterns.add(publicPath);
+            }
+        }
+    }
+
+    public boolean matches(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        if (path.contains("//")) {
+            path = collapseSlashes(path);
+        }
+        Node node = root;
+        int start = 1;
+        while (node != null) {
+            if (node.anySubpath) {
+                return true;
+            }
+            for (String pattern : node.patterns) {
+                if (ANT_PATH_MATCHER.match(pattern, path)) {
+                    return true;
+                }
+            }
+            if (start > path.length()) {
+                return node.exact;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            node = node.children.get(path.substring(start, end));
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private static String collapseSlashes(String path) {
+        StringBuilder collapsed = new StringBuilder(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c != '/' || collapsed.isEmpty() || collapsed.charAt(collapsed.length() - 1) != '/') {
+                collapsed.append(c);
+            }
+        }
+        return collapsed.toString();
+    }
+
+    private Node insert(List<String> segments) {
+        Node node = root;
+        for (String segment : segments) {
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        return node;
+    }
+
+    private static List<String> segments(String path) {
+        return List.of(path.substring(1).split("/", -1));
+    }
+
+    private static boolean isLiteral(String path) {
+        return path.startsWith("/") && path.chars().noneMatch(c -> c == '*' || c == '?' || c == '{');
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<String> patterns = new ArrayList<>();
+        private boolean exact;
+        private boolean anySubpath;
+    }
+}
@@ -0,0 +1,51 @@
+package com.eazybytes.eazystore.service;
+
+import com.eazybytes.eazystore.dto.OrderItemDto;
+import com.eazybytes.eazystore.entity.InventoryHold;
+import com.eazybytes.eazystore.exception.StockReservationException;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+
+public interface IInventoryHoldService {
+
+    /**
+     * Reserves the stock of the items for the authenticated customer until the hold TTL
+     * elapses, in its own transaction.
+     * @param items The items of the checkout
+     * @return The placed hold with its expiry
+     * @throws StockReservationException with the outcome per product if any stock could not be reserved
+     */
+    InventoryHold placeHold(List<OrderItemDto> items) throws StockReservationException;
+
+    /**
+     * Records the Razorpay order created for a hold, which identifies it at verification.
+     */
+    void attachRazorpayOrder(Long holdId, String razorpayOrderId);
+
+    /**
+     * Converts the hold of a Razorpay order into a sale, in the caller's transaction. Only
+     * a HELD hold of the authenticated customer for exactly the given quantities is
+     * converted; a HELD hold for other quantities is released instead.
+     * @param razorpayOrderId The Razorpay order the payment was made for
+     * @param quantities The ordered quantities per product
+     * @return Whether the stock of the order is covered by the converted hold
+     */
+    boolean convertHold(String razorpayOrderId, SortedMap<Long, Integer> quantities);
+
+    /**
+     * Releases those of the given holds that are still HELD and puts their stock back, in
+     * one transaction.
+     * @return The number of holds released
+     */
+    int releaseHolds(Collection<Long> holdIds);
+
+    /**
+     * Releases up to {@code limit} holds that expired before the given time and puts their
+     * stock back, in one transaction. Holds locked by a concurrent release are skipped.
+     * @return The number of holds released
+     */
+    int releaseExpiredHolds(Instant expiredBefore, int limit);
+}
@@ -0,0 +1,23 @@
+package com.eazybytes.eazystore.service;
+
+import com.eazybytes.eazystore.dto.OrderCreationResult;
+import com.eazybytes.eazystore.dto.OrderRequestDto;
+import com.eazybytes.eazystore.entity.Order;
+import com.eazybytes.eazystore.exception.IdempotencyConflictException;
+
+import java.util.function.Supplier;
+
+public interface IOrderIdempotencyService {
+
+    /**
+     * Returns the order already created for the key or payment id, or runs the creation,
+     * which must commit its own transaction, and remembers the order it created.
+     * @param idempotencyKey The client's idempotency key, or null to key by the payment id
+     * @param orderRequest The order request, whose payment id and fingerprint are checked
+     * @param creation Creates the order
+     * @throws IdempotencyConflictException if the key was used for a different request, or
+     * the payment id belongs to an order of another customer
+     */
+    OrderCreationResult createOnce(String idempotencyKey, OrderRequestDto orderRequest, Supplier<Order> creation)
+            throws IdempotencyConflictException;
+}
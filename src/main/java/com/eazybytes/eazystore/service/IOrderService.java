@@ -1,11 +1,19 @@
 package com.eazybytes.eazystore.service;
 
+import com.eazybytes.eazystore.dto.AdminOrderPageDto;
+import com.eazybytes.eazystore.dto.AdminOrderQuery;
+import com.eazybytes.eazystore.dto.BulkOrderStatusRequestDto;
+import com.eazybytes.eazystore.dto.BulkOrderStatusResultDto;
+import com.eazybytes.eazystore.dto.OrderPageDto;
 import com.eazybytes.eazystore.dto.OrderRequestDto;
 import com.eazybytes.eazystore.dto.OrderResponseDto;
 import com.eazybytes.eazystore.entity.Order;
 import com.eazybytes.eazystore.entity.OrderStatus;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
 import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+import com.eazybytes.eazystore.exception.StockReservationException;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface IOrderService {
@@ -13,8 +21,10 @@ public interface IOrderService {
     /**
      * Creates a new order with the provided order details
      * @param orderRequest The order details including items and payment information
+     * @return The created order
+     * @throws StockReservationException with the outcome per product if any stock could not be reserved
      */
-    void createOrder(OrderRequestDto orderRequest);
+    Order createOrder(OrderRequestDto orderRequest) throws StockReservationException;
 
     /**
      * Retrieves all orders for the currently authenticated customer
@@ -22,13 +32,22 @@ public interface IOrderService {
      */
     List<OrderResponseDto> getCustomerOrders();
 
+    /**
+     * Retrieves one page of the authenticated customer's orders, newest first
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param pageSize The number of orders per page, defaulted and capped by {@link OrderPageDto}
+     * @return The page of order DTOs with the cursor of the next page
+     * @throws InvalidRequestException if the cursor is invalid
+     */
+    OrderPageDto getCustomerOrderPage(String cursor, Integer pageSize) throws InvalidRequestException;
+
     /**
      * Retrieves all orders with a specific status
      * @param status The order status to filter by
      * @return List of order DTOs with the specified status
-     * @throws IllegalArgumentException if the status is invalid
+     * @throws InvalidRequestException if the status is invalid
      */
-    List<OrderResponseDto> getOrdersByStatus(String status) throws IllegalArgumentException;
+    List<OrderResponseDto> getOrdersByStatus(String status) throws InvalidRequestException;
 
     /**
      * Retrieves all pending orders (convenience method)
@@ -37,14 +56,41 @@ public interface IOrderService {
     List<OrderResponseDto> getAllPendingOrders();
 
     /**
-     * Updates the status of an existing order
+     * Retrieves one page of orders matching the admin filters, oldest first
+     * @param query The status, date range and customer filters with the paging options
+     * @return The page of order DTOs with either the totals or the cursor of the next page
+     * @throws InvalidRequestException if the cursor is invalid
+     */
+    AdminOrderPageDto getAdminOrderPage(AdminOrderQuery query) throws InvalidRequestException;
+
+    /**
+     * Updates the status of an existing order, releasing its stock when it is cancelled
      * @param orderId The ID of the order to update
      * @param status The new status to set (as a string, will be converted to OrderStatus)
      * @throws ResourceNotFoundException if the order is not found
-     * @throws IllegalArgumentException if the status is invalid
+     * @throws InvalidRequestException if the status is invalid or the order cannot move to it
      */
     void updateOrderStatus(Long orderId, String status) 
-        throws ResourceNotFoundException, IllegalArgumentException;
+        throws ResourceNotFoundException, InvalidRequestException;
+
+    /**
+     * Moves the listed orders, or all orders matching the filter, to the target status in
+     * chunks, releasing the stock of cancelled orders
+     * @param request The order ids or the filter, and the target status
+     * @return The outcome per order with their counts
+     * @throws InvalidRequestException if neither or both of the ids and the filter are given
+     */
+    BulkOrderStatusResultDto updateOrderStatuses(BulkOrderStatusRequestDto request) throws InvalidRequestException;
+
+    /**
+     * Cancels up to {@code limit} unpaid PENDING orders with reserved stock created before
+     * the given time and releases their stock, in one transaction. Orders locked by a
+     * concurrent sweep are skipped.
+     * @param createdBefore Orders created at or after this time are kept
+     * @param limit The maximum number of orders to cancel
+     * @return The number of orders cancelled
+     */
+    int cancelExpiredPendingOrders(Instant createdBefore, int limit);
 
     /**
      * Creates an order with payment verification
@@ -53,7 +99,27 @@ public interface IOrderService {
      * @param paymentStatus The status of the payment
      * @return The created order
      * @throws ResourceNotFoundException if any required resource is not found
+     * @throws StockReservationException with the outcome per product if any stock could not be reserved
      */
     Order createOrderWithPayment(OrderRequestDto orderRequest, String paymentId, String paymentStatus)
-            throws ResourceNotFoundException;
+            throws ResourceNotFoundException, StockReservationException;
+
+    /**
+     * Creates an order with payment verification from the inventory hold placed for the
+     * Razorpay order. When the hold is still held for the same quantities it is converted
+     * and the stock is not reserved again; otherwise, for example after the hold expired,
+     * the stock is reserved as for an order without a hold. If that fails the payment,
+     * already captured, is recorded for a refund; a payment recorded that way is never
+     * fulfilled afterwards, even when a retry would find the stock.
+     * @param orderRequest The order details including items
+     * @param razorpayOrderId The Razorpay order the payment was made for
+     * @param paymentId The payment ID from the payment gateway
+     * @param paymentStatus The status of the payment
+     * @return The created order
+     * @throws StockReservationException with the outcome per product if the order had no
+     * usable hold and its stock could not be reserved, or without any outcome if the payment
+     * was already recorded for a refund
+     */
+    Order createOrderWithPayment(OrderRequestDto orderRequest, String razorpayOrderId, String paymentId,
+            String paymentStatus) throws ResourceNotFoundException, StockReservationException;
 }
@@ -0,0 +1,19 @@
+package com.eazybytes.eazystore.service;
+
+import com.eazybytes.eazystore.dto.ProductImageDto;
+import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+
+public interface IProductImageService {
+
+    /**
+     * Resolves a stored product image so it can be streamed to the client
+     * @param productId The ID of the product owning the image
+     * @param imageName The stored file name of the image
+     * @param width The requested width, or null for the original upload
+     * @return A file backed resource for the closest stored variant of the image, flagged
+     * when the original stands in for a variant that was not generated
+     * @throws ResourceNotFoundException if the product does not exist, the image does not
+     * belong to it or its file does not exist
+     */
+    ProductImageDto loadProductImage(Long productId, String imageName, Integer width) throws ResourceNotFoundException;
+}
@@ -1,9 +1,12 @@
 package com.eazybytes.eazystore.service;
 
 import com.eazybytes.eazystore.dto.AddProduct;
+import com.eazybytes.eazystore.dto.CatalogPageDto;
+import com.eazybytes.eazystore.dto.ProductCatalogQuery;
 import com.eazybytes.eazystore.dto.ProductDto;
 import com.eazybytes.eazystore.dto.ProductRequestDTO;
 import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
 import com.eazybytes.eazystore.exception.ResourceNotFoundException;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -12,9 +15,22 @@ import java.util.List;
 
 public interface IProductService {
 
-    List<ProductDto> getProducts();
+    /**
+     * Lists all products
+     * @param includeImageData whether the raw image bytes should be embedded in the DTOs;
+     *                         when false only image URLs are returned and no file is read
+     */
+    List<ProductDto> getProducts(boolean includeImageData);
     
-    ProductDto getProductById(Long id) throws ResourceNotFoundException;
+    ProductDto getProductById(Long id, boolean includeImageData) throws ResourceNotFoundException;
+
+    /**
+     * Retrieves one page of the public product catalog
+     * @param query The filters, sort order and paging (page number or keyset cursor) to apply
+     * @return The page of products, image URLs only
+     * @throws InvalidRequestException if the cursor is invalid
+     */
+    CatalogPageDto getProductCatalog(ProductCatalogQuery query);
     
     ProductDto addProduct(AddProduct product);
     
@@ -0,0 +1,37 @@
+package com.eazybytes.eazystore.service;
+
+import com.eazybytes.eazystore.dto.UnfulfilledPaymentDto;
+import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface IUnfulfilledPaymentService {
+
+    /**
+     * Records a verified payment of the authenticated customer for which no order could be
+     * created, in its own transaction so the record survives the rollback of the order.
+     * A payment already recorded, e.g. by a retried verification, is left as it is.
+     * @param paymentId The payment ID from the payment gateway
+     * @param razorpayOrderId The Razorpay order the payment was made for
+     * @param amount The amount of the order request
+     * @param reason Why the order could not be created
+     */
+    void recordPayment(String paymentId, String razorpayOrderId, BigDecimal amount, String reason);
+
+    /**
+     * Whether the payment was recorded for a refund, whatever its refund status
+     */
+    boolean isRecorded(String paymentId);
+
+    /**
+     * Payments still to be refunded, oldest first
+     */
+    List<UnfulfilledPaymentDto> getRefundPendingPayments();
+
+    /**
+     * Marks a payment as refunded once the refund was issued
+     * @throws ResourceNotFoundException if there is no such payment
+     */
+    void markRefunded(Long unfulfilledPaymentId) throws ResourceNotFoundException;
+}
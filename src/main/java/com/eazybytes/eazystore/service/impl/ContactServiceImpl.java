@@ -6,10 +6,10 @@ import com.eazybytes.eazystore.dto.ContactResponseDto;
 import com.eazybytes.eazystore.entity.Contact;
 import com.eazybytes.eazystore.entity.Order;
 import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+import com.eazybytes.eazystore.mapper.ContactMapper;
 import com.eazybytes.eazystore.repository.ContactRepository;
 import com.eazybytes.eazystore.service.IContactService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -45,21 +45,10 @@ public class ContactServiceImpl implements IContactService {
     }
 
     private ContactResponseDto mapToContactResponseDTO(Contact contact) {
-        ContactResponseDto responseDTO = new ContactResponseDto(
-                contact.getContactId(),
-                contact.getName(),
-                contact.getEmail(),
-                contact.getMobileNumber(),
-                contact.getMessage(),
-                contact.getStatus()
-        );
-        return responseDTO;
+        return ContactMapper.toResponseDto(contact);
     }
 
     private Contact transformToEntity(ContactRequestDto contactRequestDto) {
-        Contact contact = new Contact();
-        BeanUtils.copyProperties(contactRequestDto, contact);
-        contact.setStatus(ApplicationConstants.OPEN_MESSAGE);
-        return contact;
+        return ContactMapper.toEntity(contactRequestDto, ApplicationConstants.OPEN_MESSAGE);
     }
 }
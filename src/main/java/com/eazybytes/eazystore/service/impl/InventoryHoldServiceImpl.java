@@ -0,0 +1,107 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.dto.OrderItemDto;
+import com.eazybytes.eazystore.entity.InventoryHold;
+import com.eazybytes.eazystore.entity.InventoryHoldStatus;
+import com.eazybytes.eazystore.repository.InventoryHoldRepository;
+import com.eazybytes.eazystore.repository.ProductRepository;
+import com.eazybytes.eazystore.service.IInventoryHoldService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+@Transactional
+public class InventoryHoldServiceImpl implements IInventoryHoldService {
+
+    private static final String SYSTEM_USER = "SYSTEM";
+
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final ProductRepository productRepository;
+    private final ProfileServiceImpl profileService;
+    private final Duration holdTtl;
+
+    public InventoryHoldServiceImpl(InventoryHoldRepository inventoryHoldRepository,
+            ProductRepository productRepository, ProfileServiceImpl profileService,
+            @Value("${eazystore.inventory.holds.ttl:PT15M}") Duration holdTtl) {
+        this.inventoryHoldRepository = inventoryHoldRepository;
+        this.productRepository = productRepository;
+        this.profileService = profileService;
+        this.holdTtl = holdTtl;
+    }
+
+    @Override
+    public InventoryHold placeHold(List<OrderItemDto> items) {
+        SortedMap<Long, Integer> quantities = StockReservations.quantitiesOf(items);
+        StockReservations.reserve(productRepository, quantities);
+
+        InventoryHold hold = new InventoryHold();
+        hold.setCustomerId(profileService.getAuthenticatedCustomerId());
+        hold.setStatus(InventoryHoldStatus.HELD);
+        hold.setExpiresAt(Instant.now().plus(holdTtl));
+        hold.getQuantities().putAll(quantities);
+        return inventoryHoldRepository.save(hold);
+    }
+
+    @Override
+    public void attachRazorpayOrder(Long holdId, String razorpayOrderId) {
+        inventoryHoldRepository.attachRazorpayOrder(holdId, razorpayOrderId);
+    }
+
+    @Override
+    public boolean convertHold(String razorpayOrderId, SortedMap<Long, Integer> quantities) {
+        if (razorpayOrderId == null) {
+            return false;
+        }
+        Optional<InventoryHold> found = inventoryHoldRepository.findByRazorpayOrderId(razorpayOrderId);
+        if (found.isEmpty() || found.get().getStatus() != InventoryHoldStatus.HELD) {
+            return false;
+        }
+        InventoryHold hold = found.get();
+        if (!hold.getCustomerId().equals(profileService.getAuthenticatedCustomerId())) {
+            return false;
+        }
+        if (!new TreeMap<>(hold.getQuantities()).equals(quantities)) {
+            log.warn("Order items of Razorpay order {} differ from its hold {}, releasing the hold",
+                    razorpayOrderId, hold.getHoldId());
+            releaseHolds(List.of(hold.getHoldId()));
+            return false;
+        }
+        // A release racing for the hold either updated it first or skips it while it is locked here
+        return inventoryHoldRepository.updateStatuses(List.of(hold.getHoldId()), InventoryHoldStatus.HELD,
+                InventoryHoldStatus.CONVERTED, hold.getCreatedBy()) == 1;
+    }
+
+    @Override
+    public int releaseHolds(Collection<Long> holdIds) {
+        return release(inventoryHoldRepository.lockHeldHolds(holdIds));
+    }
+
+    @Override
+    public int releaseExpiredHolds(Instant expiredBefore, int limit) {
+        return release(inventoryHoldRepository.lockExpiredHolds(expiredBefore, limit));
+    }
+
+    /**
+     * Marks the locked HELD holds as released and puts their stock back.
+     */
+    private int release(List<Long> holdIds) {
+        if (holdIds.isEmpty()) {
+            return 0;
+        }
+        inventoryHoldRepository.updateStatuses(holdIds, InventoryHoldStatus.HELD, InventoryHoldStatus.RELEASED,
+                SYSTEM_USER);
+        productRepository.releaseStockOfHolds(holdIds);
+        return holdIds.size();
+    }
+}
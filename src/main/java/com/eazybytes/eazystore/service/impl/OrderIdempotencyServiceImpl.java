@@ -0,0 +1,110 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.dto.OrderCreationResult;
+import com.eazybytes.eazystore.dto.OrderRequestDto;
+import com.eazybytes.eazystore.entity.Order;
+import com.eazybytes.eazystore.exception.IdempotencyConflictException;
+import com.eazybytes.eazystore.repository.OrderRepository;
+import com.eazybytes.eazystore.repository.projection.OrderFingerprint;
+import com.eazybytes.eazystore.service.IOrderIdempotencyService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Makes order creation idempotent, so a client retrying after a timeout gets the order of
+ * its first attempt instead of a second order and a second stock decrement. A request is
+ * keyed by its {@code Idempotency-Key} header, or by its payment id without one, scoped to
+ * the customer. Keys of recently created orders are remembered in memory, so a repeated
+ * request is answered without a query; older ones are found by their payment id, which is
+ * unique per order. Concurrent attempts that both miss race on that unique constraint and
+ * the loser, rolled back with its stock reservation, answers with the winner's order.
+ * <p>
+ * A replay is only answered when the request has the fingerprint the order was created
+ * with; the same key with a different body is rejected rather than silently answered
+ * with an order that does not match it.
+ */
+@Slf4j
+@Service
+public class OrderIdempotencyServiceImpl implements IOrderIdempotencyService {
+
+    private final OrderRepository orderRepository;
+    private final ProfileServiceImpl profileService;
+    private final Cache<String, OrderFingerprint> recentOrders;
+
+    public OrderIdempotencyServiceImpl(OrderRepository orderRepository, ProfileServiceImpl profileService,
+            MeterRegistry meterRegistry,
+            @Value("${eazystore.orders.idempotency.max-size:100000}") long maxSize,
+            @Value("${eazystore.orders.idempotency.ttl:PT24H}") Duration ttl) {
+        this.orderRepository = orderRepository;
+        this.profileService = profileService;
+        this.recentOrders = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentOrders, "recentOrders");
+    }
+
+    @Override
+    public OrderCreationResult createOnce(String idempotencyKey, OrderRequestDto orderRequest,
+            Supplier<Order> creation) {
+        String paymentId = orderRequest.paymentId();
+        String key = idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : paymentId;
+        if (key == null || key.isBlank()) {
+            return OrderCreationResult.created(creation.get().getOrderId());
+        }
+        Long customerId = profileService.getAuthenticatedCustomerId();
+        String cacheKey = customerId + ":" + key;
+        String fingerprint = orderRequest.fingerprint();
+        OrderFingerprint existing = recentOrders.getIfPresent(cacheKey);
+        if (existing == null) {
+            existing = findOrder(customerId, paymentId);
+        }
+        if (existing != null) {
+            return replay(cacheKey, key, existing, fingerprint);
+        }
+
+        Long orderId;
+        try {
+            orderId = creation.get().getOrderId();
+        } catch (DataIntegrityViolationException e) {
+            existing = findOrder(customerId, paymentId);
+            if (existing == null) {
+                throw new IdempotencyConflictException("Payment " + paymentId + " already belongs to another order");
+            }
+            return replay(cacheKey, key, existing, fingerprint);
+        }
+        recentOrders.put(cacheKey, new OrderFingerprint(orderId, fingerprint));
+        return OrderCreationResult.created(orderId);
+    }
+
+    private OrderCreationResult replay(String cacheKey, String key, OrderFingerprint existing, String fingerprint) {
+        // Orders created before requests were fingerprinted are replayed as they are
+        if (existing.requestFingerprint() != null && !existing.requestFingerprint().equals(fingerprint)) {
+            log.warn("Idempotency key {} reused with a different request than order {}", key, existing.orderId());
+            throw new IdempotencyConflictException(
+                    "Idempotency key " + key + " was already used for a different order request");
+        }
+        recentOrders.put(cacheKey, existing);
+        log.info("Replaying order {} for idempotency key {}", existing.orderId(), key);
+        return OrderCreationResult.replayed(existing.orderId());
+    }
+
+    private OrderFingerprint findOrder(Long customerId, String paymentId) {
+        if (paymentId == null) {
+            return null;
+        }
+        List<OrderFingerprint> orders = orderRepository.findOrderFingerprintsByPaymentId(customerId, paymentId);
+        return orders.isEmpty() ? null : orders.get(0);
+    }
+}
@@ -1,147 +1,321 @@
 package com.eazybytes.eazystore.service.impl;
 
 import com.eazybytes.eazystore.constants.ApplicationConstants;
-import com.eazybytes.eazystore.dto.OrderItemDto;
-import com.eazybytes.eazystore.dto.OrderItemReponseDto;
+import com.eazybytes.eazystore.dto.AdminOrderPageDto;
+import com.eazybytes.eazystore.dto.AdminOrderQuery;
+import com.eazybytes.eazystore.dto.BulkOrderStatusRequestDto;
+import com.eazybytes.eazystore.dto.BulkOrderStatusResultDto;
+import com.eazybytes.eazystore.dto.OrderPageDto;
 import com.eazybytes.eazystore.dto.OrderRequestDto;
 import com.eazybytes.eazystore.dto.OrderResponseDto;
+import com.eazybytes.eazystore.dto.OrderStatusChangeResult;
 import com.eazybytes.eazystore.entity.*;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
 import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+import com.eazybytes.eazystore.exception.StockReservationException;
+import com.eazybytes.eazystore.mapper.OrderHistoryAssembler;
+import com.eazybytes.eazystore.mapper.OrderMapper;
 import com.eazybytes.eazystore.repository.OrderRepository;
+import com.eazybytes.eazystore.repository.OrderSpecifications;
 import com.eazybytes.eazystore.repository.ProductRepository;
+import com.eazybytes.eazystore.repository.projection.OrderHistoryRow;
+import com.eazybytes.eazystore.repository.projection.OrderKey;
+import com.eazybytes.eazystore.repository.projection.ProductImageRow;
+import com.eazybytes.eazystore.service.IInventoryHoldService;
 import com.eazybytes.eazystore.service.IOrderService;
+import com.eazybytes.eazystore.service.IUnfulfilledPaymentService;
+import com.eazybytes.eazystore.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class OrderServiceImpl implements IOrderService {
 
+    private static final int STATUS_CHANGE_CHUNK_SIZE = 500;
+    private static final String SYSTEM_USER = "SYSTEM";
+
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final ProfileServiceImpl profileService;
-    private static final int MAX_IMAGE_SIZE = 5 * 1024 * 1024;
-    private final String uploadDir = "uploads/products-images/";//
+    private final IInventoryHoldService inventoryHoldService;
+    private final IUnfulfilledPaymentService unfulfilledPaymentService;
+    private final TransactionTemplate transactionTemplate;
+
     @Override
-    public void createOrder(OrderRequestDto orderRequest) {
-        Customer customer = profileService.getAuthenticatedCustomer();
+    public Order createOrder(OrderRequestDto orderRequest) {
+        Customer customer = profileService.getAuthenticatedCustomerReference();
         // Create Order
-        Order order = new Order();
+        Order order = OrderMapper.toEntity(orderRequest, OrderStatus.PENDING);
         order.setCustomer(customer);
-        BeanUtils.copyProperties(orderRequest, order);
-        order.setOrderStatus(OrderStatus.PENDING);
+        Map<Long, Product> products = StockReservations.reserve(productRepository,
+                StockReservations.quantitiesOf(orderRequest.items()));
         // Map OrderItems
-        List<OrderItem> orderItems = orderRequest.items().stream().map(item -> {
-            OrderItem orderItem = new OrderItem();
-            orderItem.setOrder(order);
-            Product product = productRepository.findById(item.productId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "ProductID",
-                            item.productId().toString()));
-            orderItem.setProduct(product);
-            orderItem.setQuantity(item.quantity());
-            orderItem.setPrice(item.price());
-            return orderItem;
-        }).collect(Collectors.toList());
+        List<OrderItem> orderItems = orderRequest.items().stream()
+                .map(item -> OrderMapper.toItemEntity(item, order, products.get(item.productId())))
+                .collect(Collectors.toList());
         order.setOrderItems(orderItems);
-        orderRepository.save(order);
-
+        order.setStockReserved(true);
+        order.setRequestFingerprint(orderRequest.fingerprint());
+        return orderRepository.save(order);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponseDto> getCustomerOrders() {
-        Customer customer =profileService.getAuthenticatedCustomer();
-        List<Order> orders = orderRepository.findOrdersByCustomerWithNativeQuery(customer.getCustomerId());
+        Long customerId = profileService.getAuthenticatedCustomerId();
+        return toOrderHistory(orderRepository.findOrderHistoryRows(customerId));
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDto getCustomerOrderPage(String cursor, Integer pageSize) {
+        Long customerId = profileService.getAuthenticatedCustomerId();
+        int size = pageSize == null || pageSize <= 0
+                ? OrderPageDto.DEFAULT_PAGE_SIZE : Math.min(pageSize, OrderPageDto.MAX_PAGE_SIZE);
+        // Fetch one extra key to find out whether there is a next page without counting
+        Limit limit = Limit.of(size + 1);
+        List<OrderKey> keys;
+        if (cursor == null || cursor.isBlank()) {
+            keys = orderRepository.findOrderKeys(customerId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            keys = orderRepository.findOrderKeysAfter(customerId, parseCreatedAt(after), after.id(), limit);
+        }
 
-        return orders.stream().map(this::mapToOrderResponseDTO).collect(Collectors.toList());
+        String nextCursor = null;
+        if (keys.size() > size) {
+            keys = keys.subList(0, size);
+            OrderKey last = keys.get(keys.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt().toString(), last.orderId()).encode();
+        }
+        List<OrderResponseDto> orders = keys.isEmpty()
+                ? List.of()
+                : toOrderHistory(orderRepository.findOrderHistoryRowsByOrderIds(
+                        keys.stream().map(OrderKey::orderId).toList()));
+        return new OrderPageDto(orders, size, nextCursor);
     }
-    private byte[] readImageFile(String fileName) {
+
+    private static Instant parseCreatedAt(KeysetCursor cursor) {
         try {
-            Path imagePath = Paths.get(uploadDir).resolve(fileName).normalize();
-            if (!Files.exists(imagePath)) {
-                throw new RuntimeException("Image file not found: " + fileName);
-            }
+            return Instant.parse(cursor.sortValue());
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
 
-            // Check file size before reading
-            long fileSize = Files.size(imagePath);
-            if (fileSize > MAX_IMAGE_SIZE) {
-                throw new RuntimeException("Image file too large: " + fileName + " (max " + (MAX_IMAGE_SIZE/1024/1024) + "MB)");
-            }
+    @Override
+    @Transactional(readOnly = true)
+    public AdminOrderPageDto getAdminOrderPage(AdminOrderQuery query) {
+        Specification<Order> spec = OrderSpecifications.matching(query);
+        Sort sort = Sort.by(Sort.Direction.ASC, "createdAt", "orderId");
 
-            return Files.readAllBytes(imagePath);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read image file: " + fileName, e);
+        if (!query.isKeyset()) {
+            Page<Order> page = orderRepository.findAll(spec, PageRequest.of(query.page(), query.pageSize(), sort));
+            return new AdminOrderPageDto(toOrdersInOrder(page.getContent()),
+                    page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages(), null);
         }
+
+        if (query.cursor() != null) {
+            KeysetCursor after = KeysetCursor.decode(query.cursor());
+            spec = spec.and(OrderSpecifications.after(parseCreatedAt(after), after.id()));
+        }
+        // Fetch one extra row to find out whether there is a next page without counting
+        List<Order> orders = orderRepository.findBy(spec,
+                q -> q.sortBy(sort).limit(query.pageSize() + 1).all());
+        String nextCursor = null;
+        if (orders.size() > query.pageSize()) {
+            orders = orders.subList(0, query.pageSize());
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt().toString(), last.getOrderId()).encode();
+        }
+        return new AdminOrderPageDto(toOrdersInOrder(orders), null, query.pageSize(), null, null, nextCursor);
     }
+
+    /**
+     * Loads the items of the given orders in a fixed number of queries and returns the
+     * DTOs in the order of the list
+     */
+    private List<OrderResponseDto> toOrdersInOrder(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        List<Long> orderIds = orders.stream().map(Order::getOrderId).toList();
+        Map<Long, OrderResponseDto> orderDtos = toOrderHistory(orderRepository.findOrderHistoryRowsByOrderIds(orderIds))
+                .stream()
+                .collect(Collectors.toMap(OrderResponseDto::orderId, Function.identity()));
+        return orderIds.stream().map(orderDtos::get).toList();
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponseDto> getAllPendingOrders() {
-        List<Order> orders = orderRepository.findByOrderStatus(OrderStatus.PENDING);
-        return orders.stream()
-                .map(this::mapToOrderResponseDTO)
-                .collect(Collectors.toList());
+        return toOrderHistory(orderRepository.findOrderHistoryRowsByStatus(OrderStatus.PENDING));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponseDto> getOrdersByStatus(String status) {
+        OrderStatus orderStatus;
         try {
-            Customer customer = profileService.getAuthenticatedCustomer();
-            OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
-            List<Order> orders = orderRepository.findByCustomerAndOrderStatusOrderByCreatedAtDesc(customer, orderStatus);
-            return orders.stream()
-                    .map(this::mapToOrderResponseDTO)
-                    .collect(Collectors.toList());
+            orderStatus = OrderStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid order status: " + status);
+            throw new InvalidRequestException("Invalid order status: " + status);
         }
+        Long customerId = profileService.getAuthenticatedCustomerId();
+        return toOrderHistory(orderRepository.findOrderHistoryRows(customerId, orderStatus));
     }
 
     @Override
     @Transactional
     public void updateOrderStatus(Long orderId, String status) {
+        OrderStatus orderStatus;
         try {
-            String currentUser = SecurityContextHolder.getContext().getAuthentication().getName();
-            OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
-            int updated = orderRepository.updateOrderStatus(orderId, orderStatus, currentUser);
-            if (updated == 0) {
-                throw new ResourceNotFoundException("Order", "OrderID", orderId.toString());
-            }
+            orderStatus = OrderStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid order status: " + status);
+            throw new InvalidRequestException("Invalid order status: " + status);
+        }
+        String currentUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        OrderStatusChangeResult result = changeStatus(List.of(orderId), orderStatus, currentUser).get(0);
+        switch (result.outcome()) {
+            case NOT_FOUND -> throw new ResourceNotFoundException("Order", "OrderID", orderId.toString());
+            case INVALID_TRANSITION -> throw new InvalidRequestException(
+                    "Order #" + orderId + " cannot change from " + result.previousStatus() + " to " + orderStatus);
+            default -> {
+            }
         }
     }
 
     /**
-     * Map Order entity to OrderResponseDto
+     * Each chunk runs in its own transaction, so locks are held only for one chunk and an
+     * interrupted run keeps the chunks already applied. With a filter the matching orders
+     * are walked in keyset order, so orders moved by earlier chunks are not read again.
      */
-    private OrderResponseDto mapToOrderResponseDTO(Order order) {
-        // Map Order Items
-        List<OrderItemReponseDto> itemDTOs = order.getOrderItems().stream()
-                .map(this::mapToOrderItemResponseDTO)
-                .collect(Collectors.toList());
-        
-        return new OrderResponseDto(
-            order.getOrderId(),
-            order.getOrderStatus(),
-            order.getTotalPrice(),
-            order.getCreatedAt().toString(),
-            itemDTOs
-        );
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOrderStatusResultDto updateOrderStatuses(BulkOrderStatusRequestDto request) {
+        boolean hasOrderIds = request.orderIds() != null && !request.orderIds().isEmpty();
+        if (hasOrderIds == (request.filter() != null)) {
+            throw new InvalidRequestException("Pass either orderIds or a filter");
+        }
+        if (request.targetStatus() == null) {
+            throw new InvalidRequestException("A target status is required");
+        }
+        String currentUser = SecurityContextHolder.getContext().getAuthentication().getName();
+        List<OrderStatusChangeResult> results = new ArrayList<>();
+
+        if (hasOrderIds) {
+            List<Long> orderIds = request.orderIds().stream().filter(Objects::nonNull).distinct().toList();
+            for (int from = 0; from < orderIds.size(); from += STATUS_CHANGE_CHUNK_SIZE) {
+                List<Long> chunk = orderIds.subList(from, Math.min(from + STATUS_CHANGE_CHUNK_SIZE, orderIds.size()));
+                results.addAll(transactionTemplate.execute(
+                        status -> changeStatus(chunk, request.targetStatus(), currentUser)));
+            }
+            return BulkOrderStatusResultDto.of(request.targetStatus(), results);
+        }
+
+        Specification<Order> spec = OrderSpecifications.matching(request.filter());
+        Sort sort = Sort.by(Sort.Direction.ASC, "createdAt", "orderId");
+        Specification<Order> page = spec;
+        while (true) {
+            List<Order> orders = orderRepository.findBy(page,
+                    q -> q.sortBy(sort).limit(STATUS_CHANGE_CHUNK_SIZE).all());
+            if (orders.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = orders.stream().map(Order::getOrderId).toList();
+            results.addAll(transactionTemplate.execute(
+                    status -> changeStatus(chunk, request.targetStatus(), currentUser)));
+            if (orders.size() < STATUS_CHANGE_CHUNK_SIZE) {
+                break;
+            }
+            Order last = orders.get(orders.size() - 1);
+            page = spec.and(OrderSpecifications.after(last.getCreatedAt(), last.getOrderId()));
+        }
+        return BulkOrderStatusResultDto.of(request.targetStatus(), results);
+    }
+
+    @Override
+    public int cancelExpiredPendingOrders(Instant createdBefore, int limit) {
+        List<Long> orderIds = orderRepository.lockPendingOrdersCreatedBefore(createdBefore, limit);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        // The rows are locked and were PENDING when locked, which may always be cancelled
+        orderRepository.updateOrderStatuses(orderIds, OrderStatus.CANCELLED, SYSTEM_USER);
+        productRepository.releaseStockOfOrders(orderIds);
+        return orderIds.size();
+    }
+
+    /**
+     * Locks the orders, checks each transition and moves all eligible orders with one
+     * UPDATE; the reserved stock of orders moved to CANCELLED is put back. Must run in a
+     * transaction.
+     */
+    private List<OrderStatusChangeResult> changeStatus(List<Long> orderIds, OrderStatus target, String updatedBy) {
+        Map<Long, OrderStatus> currentStatuses = orderRepository.lockOrderStatuses(orderIds);
+        List<OrderStatusChangeResult> results = new ArrayList<>(orderIds.size());
+        List<Long> eligible = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            OrderStatus current = currentStatuses.get(orderId);
+            OrderStatusChangeResult.Outcome outcome;
+            if (current == null) {
+                outcome = OrderStatusChangeResult.Outcome.NOT_FOUND;
+            } else if (current == target) {
+                outcome = OrderStatusChangeResult.Outcome.UNCHANGED;
+            } else if (current.canTransitionTo(target)) {
+                outcome = OrderStatusChangeResult.Outcome.UPDATED;
+                eligible.add(orderId);
+            } else {
+                outcome = OrderStatusChangeResult.Outcome.INVALID_TRANSITION;
+            }
+            results.add(new OrderStatusChangeResult(orderId, current, outcome));
+        }
+        if (!eligible.isEmpty()) {
+            orderRepository.updateOrderStatuses(eligible, target, updatedBy);
+            if (target == OrderStatus.CANCELLED) {
+                productRepository.releaseStockOfOrders(eligible);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Assembles order history rows into response DTOs, loading the images of all their
+     * products with one more query.
+     */
+    private List<OrderResponseDto> toOrderHistory(List<OrderHistoryRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> productIds = OrderHistoryAssembler.productIds(rows);
+        List<ProductImageRow> images = productIds.isEmpty()
+                ? List.of()
+                : orderRepository.findProductImageRows(productIds);
+        return OrderHistoryAssembler.assemble(rows, images);
     }
 
     /**
@@ -150,10 +324,38 @@ public class OrderServiceImpl implements IOrderService {
     @Override
     public Order createOrderWithPayment(OrderRequestDto orderRequest, String paymentId, String paymentStatus)
             throws ResourceNotFoundException {
+        return createOrderWithPayment(orderRequest, null, paymentId, paymentStatus);
+    }
+
+    @Override
+    public Order createOrderWithPayment(OrderRequestDto orderRequest, String razorpayOrderId, String paymentId,
+            String paymentStatus) throws ResourceNotFoundException {
 
         log.info("Creating order with payment ID: {}", paymentId);
 
-        Customer customer = profileService.getAuthenticatedCustomer();
+        // A payment recorded for a refund by an earlier attempt must not be fulfilled as well
+        if (unfulfilledPaymentService.isRecorded(paymentId)) {
+            throw new StockReservationException(
+                    "Payment " + paymentId + " was already recorded for a refund, no order is created", List.of());
+        }
+
+        // Converted first, its bulk update clears the persistence context
+        SortedMap<Long, Integer> quantities = StockReservations.quantitiesOf(orderRequest.items());
+        Map<Long, Product> products;
+        if (inventoryHoldService.convertHold(razorpayOrderId, quantities)) {
+            products = productRepository.findAllById(quantities.keySet()).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+        } else {
+            try {
+                products = StockReservations.reserve(productRepository, quantities);
+            } catch (StockReservationException e) {
+                // The payment is already captured, keep it for a refund before the order rolls back
+                recordUnfulfilledPayment(paymentId, razorpayOrderId, orderRequest, e);
+                throw e;
+            }
+        }
+
+        Customer customer = profileService.getAuthenticatedCustomerReference();
         Order order = new Order();
         order.setCustomer(customer);
 
@@ -162,10 +364,13 @@ public class OrderServiceImpl implements IOrderService {
         order.setPaymentId(paymentId);
         order.setPaymentStatus(paymentStatus);
         order.setOrderStatus(OrderStatus.PROCESSING);
+        // Reserved now or when the hold was placed
+        order.setStockReserved(true);
+        order.setRequestFingerprint(orderRequest.fingerprint());
 
-        // Map and set order items
+        // Map order items
         List<OrderItem> orderItems = orderRequest.items().stream()
-                .map(item -> createOrderItem(item, order))
+                .map(item -> OrderMapper.toItemEntity(item, order, products.get(item.productId())))
                 .collect(Collectors.toList());
 
         order.setOrderItems(orderItems);
@@ -177,52 +382,14 @@ public class OrderServiceImpl implements IOrderService {
         return savedOrder;
     }
 
-    private OrderItem createOrderItem(OrderItemDto itemDto, Order order) {
-        Product product = productRepository.findById(itemDto.productId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "ProductID",
-                        itemDto.productId().toString()));
-
-        // Update product stock
-        int newQuantity = product.getQuantity() - itemDto.quantity();
-        if (newQuantity < 0) {
-            throw new IllegalStateException("Insufficient stock for product: " + product.getName());
-        }
-        product.setQuantity(newQuantity);
-        productRepository.save(product);
-
-        // Create order item
-        OrderItem orderItem = new OrderItem();
-        orderItem.setOrder(order);
-        orderItem.setProduct(product);
-        orderItem.setQuantity(itemDto.quantity());
-        orderItem.setPrice(itemDto.price());
-
-        return orderItem;
-    }
-
-    private OrderItemReponseDto mapToOrderItemResponseDTO(OrderItem orderItem) {
-        List<byte[]> imageData = new ArrayList<>();
-
-        // Get product and its image file names
-        Product product = orderItem.getProduct();
-        if (product.getImageFileNames() != null && !product.getImageFileNames().isEmpty()) {
-            // Read each image file and add to the list
-            for (String fileName : product.getImageFileNames()) {
-                try {
-                    byte[] imageBytes = readImageFile(fileName);
-                    imageData.add(imageBytes);
-                } catch (Exception e) {
-                    log.warn("Failed to read image file: {}", fileName, e);
-                    // Continue with other images if one fails
-                }
-            }
+    private void recordUnfulfilledPayment(String paymentId, String razorpayOrderId, OrderRequestDto orderRequest,
+            StockReservationException cause) {
+        try {
+            unfulfilledPaymentService.recordPayment(paymentId, razorpayOrderId, orderRequest.totalPrice(),
+                    cause.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Failed to record payment {} of Razorpay order {} for a refund, it has to be refunded manually",
+                    paymentId, razorpayOrderId, e);
         }
-
-        return new OrderItemReponseDto(
-                product.getName(),
-                orderItem.getQuantity(),
-                orderItem.getPrice(),
-                imageData
-        );
     }
 }
@@ -0,0 +1,81 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.dto.ProductCatalogQuery;
+import com.eazybytes.eazystore.entity.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evicts only the cached catalog pages a product write can affect, i.e. the pages
+ * whose filters match the product before or after the change, instead of clearing
+ * the whole catalog cache.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evicts the catalog pages matching any of the given product states once the
+     * surrounding transaction (if any) has committed, so readers cannot re-cache
+     * the old row in between
+     */
+    public void evictCatalogPages(ProductFacets... states) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvictCatalogPages(states);
+                }
+            });
+        } else {
+            doEvictCatalogPages(states);
+        }
+    }
+
+    private void doEvictCatalogPages(ProductFacets... states) {
+        Cache cache = cacheManager.getCache("productCatalog");
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return;
+        }
+        Map<?, ?> pages = nativeCache.asMap();
+        int before = pages.size();
+        pages.keySet().removeIf(key -> key instanceof ProductCatalogQuery query
+                && Arrays.stream(states).anyMatch(state -> state.matches(query)));
+        log.debug("Evicted {} of {} cached catalog pages", before - pages.size(), before);
+    }
+
+    /**
+     * Snapshot of the product attributes catalog filters look at
+     */
+    public record ProductFacets(String category, String subcategory, BigDecimal price,
+                                List<String> colors, List<String> sizes) {
+
+        public static ProductFacets of(Product product) {
+            return new ProductFacets(product.getCategory(), product.getSubcategory(), product.getPrice(),
+                    product.getColors() == null ? List.of() : List.copyOf(product.getColors()),
+                    product.getSizes() == null ? List.of() : List.copyOf(product.getSizes()));
+        }
+
+        boolean matches(ProductCatalogQuery query) {
+            return (query.category() == null || query.category().equals(category))
+                    && (query.subcategory() == null || query.subcategory().equals(subcategory))
+                    && (query.minPrice() == null || price == null || price.compareTo(query.minPrice()) >= 0)
+                    && (query.maxPrice() == null || price == null || price.compareTo(query.maxPrice()) <= 0)
+                    && (query.color() == null || colors.contains(query.color()))
+                    && (query.size() == null || sizes.contains(query.size()));
+        }
+    }
+}
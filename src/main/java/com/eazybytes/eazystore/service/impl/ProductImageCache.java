@@ -0,0 +1,248 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of product image files keyed by file name. The bytes live in direct
+ * (off-heap) buffers, so a large working set of images does not add GC pressure;
+ * the cached set is bounded by weight, i.e. the total number of cached bytes.
+ * <p>
+ * The native memory of an evicted buffer is only freed once the buffer is garbage
+ * collected, so the cache also tracks every byte it allocated until then and never
+ * allocates more than twice {@code max-bytes}: past that, images are streamed from their
+ * files until the collector catches up. -XX:MaxDirectMemorySize must leave room for that
+ * on top of other direct buffer users; a warning is logged at start-up when it does not.
+ */
+@Slf4j
+@Component
+public class ProductImageCache {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final boolean enabled;
+    private final long maxEntryBytes;
+    private final long maxAllocatedBytes;
+    // Direct bytes allocated by the cache and not yet reclaimed by the collector
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final Cache<String, CachedImage> cache;
+
+    public ProductImageCache(MeterRegistry meterRegistry,
+            @Value("${eazystore.images.cache.enabled:true}") boolean enabled,
+            @Value("${eazystore.images.cache.max-bytes:268435456}") long maxBytes,
+            @Value("${eazystore.images.cache.max-entry-bytes:5242880}") long maxEntryBytes) {
+        this.enabled = enabled;
+        this.maxEntryBytes = Math.min(maxEntryBytes, Integer.MAX_VALUE);
+        this.maxAllocatedBytes = 2 * maxBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                // Markers of oversized files weigh 1 so they stay evictable
+                .weigher((String fileName, CachedImage image) -> image.isOversized() ? 1 : image.data().capacity())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "productImages");
+        Gauge.builder("cache.bytes", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .tag("cache", "productImages")
+                .description("Number of image bytes held off-heap by the cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("cache.direct.allocated", allocatedBytes, AtomicLong::get)
+                .tag("cache", "productImages")
+                .description("Direct memory allocated by the cache and not yet reclaimed, evicted images included")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        if (enabled) {
+            checkDirectMemoryLimit();
+        }
+    }
+
+    /**
+     * Returns the cached image for the given file, loading it on a miss. Null is returned
+     * for files larger than the per-entry limit, which are remembered as such so they are
+     * not opened again, and for files that cannot be cached right now.
+     */
+    public CachedImage get(Path imagePath) {
+        if (!enabled) {
+            return null;
+        }
+        CachedImage image = cache.get(imagePath.getFileName().toString(), fileName -> load(imagePath));
+        return image == null || image.isOversized() ? null : image;
+    }
+
+    /**
+     * Drops the given original image and all of its stored variants
+     */
+    public void invalidate(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot < 0 ? fileName : fileName.substring(0, dot);
+        cache.asMap().keySet().removeIf(key -> key.equals(fileName) || key.startsWith(baseName + "-w"));
+    }
+
+    private CachedImage load(Path imagePath) {
+        try (FileChannel channel = FileChannel.open(imagePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > maxEntryBytes) {
+                return CachedImage.oversized(imagePath.getFileName().toString());
+            }
+            if (allocatedBytes.addAndGet(size) > maxAllocatedBytes) {
+                // Evicted buffers are still waiting for the collector, stream from the file
+                allocatedBytes.addAndGet(-size);
+                return null;
+            }
+            ByteBuffer buffer;
+            try {
+                buffer = ByteBuffer.allocateDirect((int) size);
+            } catch (OutOfMemoryError e) {
+                allocatedBytes.addAndGet(-size);
+                log.warn("Direct memory exhausted, not caching image file {}", imagePath.getFileName());
+                return null;
+            }
+            CLEANER.register(buffer, () -> allocatedBytes.addAndGet(-size));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return new CachedImage(imagePath.getFileName().toString(), buffer.asReadOnlyBuffer(),
+                    imagePath.toFile().lastModified());
+        } catch (IOException e) {
+            log.warn("Failed to cache image file {}: {}", imagePath.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Warns when -XX:MaxDirectMemorySize, which defaults to the maximum heap size, cannot
+     * hold what the cache may allocate.
+     */
+    private void checkDirectMemoryLimit() {
+        long maxDirectMemory = Runtime.getRuntime().maxMemory();
+        try {
+            HotSpotDiagnosticMXBean diagnostics = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            long configured = Long.parseLong(diagnostics.getVMOption("MaxDirectMemorySize").getValue());
+            if (configured > 0) {
+                maxDirectMemory = configured;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Cannot read MaxDirectMemorySize: {}", e.getMessage());
+        }
+        if (maxDirectMemory < maxAllocatedBytes) {
+            log.warn("The product image cache may allocate up to {} bytes of direct memory but "
+                    + "-XX:MaxDirectMemorySize is {} bytes; raise it or lower eazystore.images.cache.max-bytes",
+                    maxAllocatedBytes, maxDirectMemory);
+        }
+    }
+
+    /**
+     * A cached image, or with null data the marker of a file too large to be cached.
+     */
+    public record CachedImage(String fileName, ByteBuffer data, long lastModified) {
+
+        static CachedImage oversized(String fileName) {
+            return new CachedImage(fileName, null, 0);
+        }
+
+        boolean isOversized() {
+            return data == null;
+        }
+
+        public byte[] toByteArray() {
+            byte[] bytes = new byte[data.remaining()];
+            data.duplicate().get(bytes);
+            return bytes;
+        }
+
+        public Resource asResource() {
+            return new CachedImageResource(this);
+        }
+    }
+
+    private static final class CachedImageResource extends AbstractResource {
+
+        private final CachedImage image;
+
+        private CachedImageResource(CachedImage image) {
+            this.image = image;
+        }
+
+        @Override
+        public String getFilename() {
+            return image.fileName();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Cached product image [" + image.fileName() + "]";
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return image.data().remaining();
+        }
+
+        @Override
+        public long lastModified() {
+            return image.lastModified();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            // Every stream gets its own view, so concurrent (ranged) readers do not interfere
+            ByteBuffer view = image.data().duplicate();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return view.hasRemaining() ? view.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    if (!view.hasRemaining()) {
+                        return -1;
+                    }
+                    int count = Math.min(length, view.remaining());
+                    view.get(bytes, offset, count);
+                    return count;
+                }
+
+                @Override
+                public long skip(long n) {
+                    int count = (int) Math.max(0, Math.min(n, view.remaining()));
+                    view.position(view.position() + count);
+                    return count;
+                }
+
+                @Override
+                public int available() {
+                    return view.remaining();
+                }
+            };
+        }
+    }
+}
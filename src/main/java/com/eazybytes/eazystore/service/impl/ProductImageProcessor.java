@@ -0,0 +1,167 @@
+package com.eazybytes.eazystore.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Produces fixed-width, downscaled copies of uploaded product images.
+ * A variant of {@code <name>.<ext>} is stored next to the original as
+ * {@code <name>-w<width>.<ext>}, so it can be located from the original
+ * file name alone without any extra bookkeeping.
+ */
+@Slf4j
+@Component
+public class ProductImageProcessor {
+
+    private final TaskExecutor imageProcessingExecutor;
+    private final List<Integer> variantWidths;
+    private final Counter rejectedJobs;
+
+    public ProductImageProcessor(@Qualifier("imageProcessingExecutor") TaskExecutor imageProcessingExecutor,
+            @Value("${eazystore.images.variant-widths:128,512,1024}") Integer[] variantWidths,
+            MeterRegistry meterRegistry) {
+        this.imageProcessingExecutor = imageProcessingExecutor;
+        this.variantWidths = Arrays.stream(variantWidths).sorted().toList();
+        this.rejectedJobs = Counter.builder("images.variants.rejected")
+                .description("Variant generation jobs rejected because the processing queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedules variant generation for a freshly stored original on the bounded processing
+     * pool. When the queue is full the job is rejected, counted and logged, and the original
+     * is served for every size until the image is uploaded again.
+     * @return Whether the job was accepted
+     */
+    public boolean generateVariantsAsync(Path original) {
+        try {
+            imageProcessingExecutor.execute(() -> generateVariants(original));
+            return true;
+        } catch (TaskRejectedException e) {
+            rejectedJobs.increment();
+            log.warn("Image processing queue is full, no variants will be generated for {}", original.getFileName());
+            return false;
+        }
+    }
+
+    public void generateVariants(Path original) {
+        try {
+            BufferedImage source = ImageIO.read(original.toFile());
+            if (source == null) {
+                log.debug("No ImageIO reader for {}, serving the original only", original.getFileName());
+                return;
+            }
+            String format = formatOf(original);
+            for (Integer width : variantWidths) {
+                // Never upscale: smaller originals are served as they are
+                if (width >= source.getWidth()) {
+                    break;
+                }
+                // The product or image may have been deleted while this job was queued or running
+                if (!Files.isRegularFile(original)) {
+                    log.debug("{} was deleted, stopping variant generation", original.getFileName());
+                    return;
+                }
+                Path target = variantPath(original, width);
+                BufferedImage scaled = scaleToWidth(source, width, !"png".equals(format) && !"gif".equals(format));
+                Path tempFile = Files.createTempFile(original.getParent(), ".variant-", ".tmp");
+                try {
+                    if (!ImageIO.write(scaled, format, tempFile.toFile())) {
+                        log.debug("No ImageIO writer for format {}, skipping variants of {}", format, original.getFileName());
+                        return;
+                    }
+                    Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                    // Deleting an image removes the original before its variants, so a variant
+                    // moved in after that deletion is caught here and not left behind
+                    if (!Files.isRegularFile(original)) {
+                        Files.deleteIfExists(target);
+                        return;
+                    }
+                } finally {
+                    Files.deleteIfExists(tempFile);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate image variants for {}: {}", original.getFileName(), e.getMessage());
+        }
+    }
+
+    /**
+     * The variant best suited for the requested width: the smallest variant at least as
+     * wide as requested. Null when the request is wider than every variant, in which case
+     * the original is the answer. The returned file may not exist (yet): variants are
+     * generated in the background and never for originals narrower than the variant.
+     */
+    public Path variantFor(Path original, int requestedWidth) {
+        for (Integer width : variantWidths) {
+            if (width >= requestedWidth) {
+                return variantPath(original, width);
+            }
+        }
+        return null;
+    }
+
+    public void deleteVariants(Path original) throws IOException {
+        for (Integer width : variantWidths) {
+            Files.deleteIfExists(variantPath(original, width));
+        }
+    }
+
+    private Path variantPath(Path original, int width) {
+        String fileName = original.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String variantName = dot < 0
+                ? fileName + "-w" + width
+                : fileName.substring(0, dot) + "-w" + width + fileName.substring(dot);
+        return original.resolveSibling(variantName);
+    }
+
+    private String formatOf(Path original) {
+        String fileName = original.getFileName().toString();
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+        return extension.equals("jpg") ? "jpeg" : extension;
+    }
+
+    private BufferedImage scaleToWidth(BufferedImage source, int targetWidth, boolean opaque) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int imageType = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        // Halve step by step while far from the target; a single bilinear pass over a
+        // large ratio drops too many source pixels and produces aliasing
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, imageType);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+}
@@ -0,0 +1,66 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.constants.ApplicationConstants;
+import com.eazybytes.eazystore.dto.ProductImageDto;
+import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+import com.eazybytes.eazystore.service.IProductImageService;
+import com.eazybytes.eazystore.service.IProductService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ProductImageServiceImpl implements IProductImageService {
+
+    private final IProductService productService;
+    private final ProductImageProcessor productImageProcessor;
+    private final ProductImageCache productImageCache;
+
+    private final Path uploadPath = Paths.get(ApplicationConstants.PRODUCT_IMAGES_DIR)
+            .toAbsolutePath().normalize();
+
+    @Override
+    public ProductImageDto loadProductImage(Long productId, String imageName, Integer width) {
+        // Served only under the product it belongs to, checked against the cached product
+        List<String> imageNames = productService.getProductById(productId, false).getImageNames();
+        if (imageNames == null || !imageNames.contains(imageName)) {
+            throw new ResourceNotFoundException("Product image", "name", imageName);
+        }
+        Path imagePath = resolveImagePath(imageName);
+        if (imagePath == null || !Files.isRegularFile(imagePath)) {
+            throw new ResourceNotFoundException("Product image", "name", imageName);
+        }
+        boolean fallback = false;
+        if (width != null && width > 0) {
+            Path variant = productImageProcessor.variantFor(imagePath, width);
+            if (variant != null && Files.isRegularFile(variant)) {
+                imagePath = variant;
+            } else {
+                fallback = variant != null;
+            }
+        }
+        ProductImageCache.CachedImage cachedImage = productImageCache.get(imagePath);
+        if (cachedImage != null) {
+            return new ProductImageDto(cachedImage.asResource(), fallback);
+        }
+        // FileSystemResource is backed by a FileChannel, so ranged and full
+        // responses are copied straight from the file without buffering it
+        return new ProductImageDto(new FileSystemResource(imagePath), fallback);
+    }
+
+    private Path resolveImagePath(String imageName) {
+        if (imageName == null || imageName.isBlank()
+                || imageName.contains("/") || imageName.contains("\\")) {
+            return null;
+        }
+        Path imagePath = uploadPath.resolve(imageName).normalize();
+        // Never serve anything outside of the upload directory
+        return imagePath.getParent().equals(uploadPath) ? imagePath : null;
+    }
+}
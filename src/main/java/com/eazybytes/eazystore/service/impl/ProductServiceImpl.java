@@ -1,15 +1,29 @@
 package com.eazybytes.eazystore.service.impl;
 
+import com.eazybytes.eazystore.constants.ApplicationConstants;
 import com.eazybytes.eazystore.dto.AddProduct;
+import com.eazybytes.eazystore.dto.CatalogPageDto;
+import com.eazybytes.eazystore.dto.ProductCatalogQuery;
 import com.eazybytes.eazystore.dto.ProductDto;
+import com.eazybytes.eazystore.dto.ProductSortField;
 import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
+import com.eazybytes.eazystore.mapper.ProductMapper;
 import com.eazybytes.eazystore.repository.ProductRepository;
+import com.eazybytes.eazystore.repository.ProductSpecifications;
 import com.eazybytes.eazystore.service.IProductService;
+import com.eazybytes.eazystore.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+import com.eazybytes.eazystore.service.impl.ProductCacheInvalidator.ProductFacets;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -22,7 +36,6 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -32,19 +45,78 @@ import java.util.stream.Collectors;
 public class ProductServiceImpl implements IProductService {
 
     private final ProductRepository productRepository;
-    private final String uploadDir = "uploads/products-images/";
+    private final ProductImageProcessor productImageProcessor;
+    private final ProductImageCache productImageCache;
+    private final ProductCacheInvalidator productCacheInvalidator;
+    private final String uploadDir = ApplicationConstants.PRODUCT_IMAGES_DIR;
     private static final int MAX_IMAGE_SIZE = 5 * 1024 * 1024; // 5MB max image size
 
     @Override
-    @Cacheable(value = "products")
-    public List<ProductDto> getProducts() {
+    @Cacheable(value = "products", key = "'all'", condition = "!#includeImageData")
+    public List<ProductDto> getProducts(boolean includeImageData) {
+        return loadProducts(includeImageData);
+    }
+
+    /**
+     * Uncached read of all products, also used by the cache loader to refresh entries
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDto> loadProducts(boolean includeImageData) {
         return productRepository.findAll().stream()
-                .map(this::convertToDto)
+                .map(product -> convertToDto(product, includeImageData))
                 .collect(Collectors.toList());
     }
 
     @Override
-    @CacheEvict(value = "products", allEntries = true)
+    @Cacheable(value = "productCatalog", key = "#query")
+    public CatalogPageDto getProductCatalog(ProductCatalogQuery query) {
+        return loadProductCatalog(query);
+    }
+
+    /**
+     * Uncached read of a catalog page, also used by the cache loader to refresh entries
+     */
+    @Transactional(readOnly = true)
+    public CatalogPageDto loadProductCatalog(ProductCatalogQuery query) {
+        Specification<Product> spec = ProductSpecifications.matching(query);
+        Sort sort = Sort.by(query.direction(), query.sort().getProperty(), "id");
+
+        if (!query.isKeyset()) {
+            Page<Product> page = productRepository.findAll(spec,
+                    PageRequest.of(query.page(), query.pageSize(), sort));
+            return new CatalogPageDto(
+                    page.getContent().stream().map(product -> convertToDto(product, false)).toList(),
+                    page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages(), null);
+        }
+
+        if (query.cursor() != null) {
+            spec = spec.and(ProductSpecifications.after(KeysetCursor.decode(query.cursor()),
+                    query.sort(), query.direction()));
+        }
+        // Fetch one extra row to find out whether there is a next page without counting
+        List<Product> products = productRepository.findBy(spec,
+                q -> q.sortBy(sort).limit(query.pageSize() + 1).all());
+        String nextCursor = null;
+        if (products.size() > query.pageSize()) {
+            products = products.subList(0, query.pageSize());
+            Product last = products.get(products.size() - 1);
+            nextCursor = new KeysetCursor(sortValueOf(last, query.sort()), last.getId()).encode();
+        }
+        return new CatalogPageDto(products.stream().map(product -> convertToDto(product, false)).toList(),
+                null, query.pageSize(), null, null, nextCursor);
+    }
+
+    private String sortValueOf(Product product, ProductSortField sort) {
+        return switch (sort) {
+            case POPULARITY -> product.getPopularity().toString();
+            case PRICE -> product.getPrice().toPlainString();
+            case CREATED_AT -> product.getCreatedAt().toString();
+        };
+    }
+
+    @Override
+    @Caching(put = @CachePut(value = "productById", key = "#result.productId"),
+            evict = @CacheEvict(value = "products", allEntries = true))
     public ProductDto addProduct(AddProduct product) {
         List<MultipartFile> images = product.getImages();
         validateInput(product, images);
@@ -54,25 +126,36 @@ public class ProductServiceImpl implements IProductService {
 
         Product productEntity = createProductEntity(product, imageFileNames);
         Product savedProduct = productRepository.save(productEntity);
+        productCacheInvalidator.evictCatalogPages(ProductFacets.of(savedProduct));
 
-        return convertToDto(savedProduct);
+        return convertToDto(savedProduct, false);
     }
     
     @Override
-    @Cacheable(value = "products", key = "#id")
-    public ProductDto getProductById(Long id) {
+    @Cacheable(value = "productById", key = "#id", condition = "!#includeImageData")
+    public ProductDto getProductById(Long id, boolean includeImageData) {
+        return loadProductById(id, includeImageData);
+    }
+
+    /**
+     * Uncached read of a single product, also used by the cache loader to refresh entries
+     */
+    @Transactional(readOnly = true)
+    public ProductDto loadProductById(Long id, boolean includeImageData) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id.toString()));
-        return convertToDto(product);
+        return convertToDto(product, includeImageData);
     }
     
     @Override
     @Transactional
-    @CacheEvict(value = "products", allEntries = true)
+    @Caching(put = @CachePut(value = "productById", key = "#id"),
+            evict = @CacheEvict(value = "products", allEntries = true))
     public ProductDto updateProduct(Long id, AddProduct product) {
         // Find existing product
         Product existingProduct = productRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id.toString()));
+        ProductFacets previousState = ProductFacets.of(existingProduct);
             
         // Handle image updates if new images are provided
         List<String> imageFileNames = existingProduct.getImageFileNames();
@@ -86,20 +169,23 @@ public class ProductServiceImpl implements IProductService {
         }
         
         // Update product fields
-        BeanUtils.copyProperties(product, existingProduct, "id", "createdAt", "updatedAt", "imageFileNames");
+        ProductMapper.copyToEntity(product, existingProduct);
         existingProduct.setImageFileNames(imageFileNames);
         existingProduct.setUpdatedAt(Instant.now());
         
         Product updatedProduct = productRepository.save(existingProduct);
-        return convertToDto(updatedProduct);
+        productCacheInvalidator.evictCatalogPages(previousState, ProductFacets.of(updatedProduct));
+        return convertToDto(updatedProduct, false);
     }
     
     @Override
     @Transactional
-    @CacheEvict(value = "products", allEntries = true)
+    @Caching(evict = {@CacheEvict(value = "productById", key = "#id"),
+            @CacheEvict(value = "products", allEntries = true)})
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id.toString()));
+        productCacheInvalidator.evictCatalogPages(ProductFacets.of(product));
 
         // Delete associated images
         deleteProductImages(product);
@@ -115,6 +201,8 @@ public class ProductServiceImpl implements IProductService {
                 try {
                     Path filePath = uploadPath.resolve(fileName);
                     Files.deleteIfExists(filePath);
+                    productImageProcessor.deleteVariants(filePath);
+                    productImageCache.invalidate(fileName);
 
                 } catch (IOException e) {
                     throw new RuntimeException("Failed to delete image file: " + fileName, e);
@@ -125,10 +213,10 @@ public class ProductServiceImpl implements IProductService {
 
     private void validateInput(AddProduct product, List<MultipartFile> images) {
         if (product == null) {
-            throw new IllegalArgumentException("Product data cannot be null");
+            throw new InvalidRequestException("Product data cannot be null");
         }
         if (images == null || images.isEmpty()) {
-            throw new IllegalArgumentException("At least one image is required");
+            throw new InvalidRequestException("At least one image is required");
         }
     }
 
@@ -159,6 +247,7 @@ public class ProductServiceImpl implements IProductService {
 
             Path targetLocation = uploadPath.resolve(fileName);
             Files.copy(image.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            productImageProcessor.generateVariantsAsync(targetLocation);
 
             return fileName;
         } catch (IOException ex) {
@@ -167,9 +256,7 @@ public class ProductServiceImpl implements IProductService {
     }
 
     private Product createProductEntity(AddProduct product, List<String> imageFileNames) {
-        Product entity = new Product();
-        BeanUtils.copyProperties(product, entity);
-        entity.setImageFileNames(imageFileNames);
+        Product entity = ProductMapper.toEntity(product, imageFileNames);
 
         // Set default values if not provided
         if (entity.getPopularity() == null) {
@@ -182,51 +269,11 @@ public class ProductServiceImpl implements IProductService {
         return entity;
     }
 
-    private ProductDto convertToDto(Product product) {
-        ProductDto dto = new ProductDto();
-        BeanUtils.copyProperties(product, dto);
-        dto.setProductId(product.getId());
-        dto.setQuantity(product.getQuantity());
-        dto.setPopularity(product.getPopularity());
-        dto.setCategory(product.getCategory());
-        dto.setSubcategory(product.getSubcategory());
-        // Clean and set colors
-        if (product.getColors() != null) {
-            List<String> cleanedColors = product.getColors().stream()
-                    .flatMap(color -> {
-                        // Remove all non-alphanumeric characters except # and comma
-                        String clean = color.replaceAll("[^a-zA-Z0-9,#]", "");
-                        // Split by comma if multiple colors are in one string
-                        return Arrays.stream(clean.split(","))
-                                .map(String::trim)
-                                .filter(s -> !s.isEmpty());
-                    })
-                    .distinct()
-                    .collect(Collectors.toList());
-            dto.setColors(cleanedColors);
-        }
-        
-        // Clean and set sizes
-        if (product.getSizes() != null) {
-            List<String> cleanedSizes = product.getSizes().stream()
-                    .flatMap(size -> {
-                        // Remove all non-alphanumeric characters except comma
-                        String clean = size.replaceAll("[^a-zA-Z0-9,]", "");
-                        // Split by comma if multiple sizes are in one string
-                        return Arrays.stream(clean.split(","))
-                                .map(String::trim)
-                                .filter(s -> !s.isEmpty());
-                    })
-                    .distinct()
-                    .collect(Collectors.toList());
-            dto.setSizes(cleanedSizes);
-        }
-        
-        // Set image names
-        dto.setImageNames(product.getImageFileNames());
-        
-        // Read and set image data
-        if (product.getImageFileNames() != null && !product.getImageFileNames().isEmpty()) {
+    private ProductDto convertToDto(Product product, boolean includeImageData) {
+        ProductDto dto = ProductMapper.toDto(product);
+
+        // Read and set image data only when explicitly requested
+        if (includeImageData && product.getImageFileNames() != null && !product.getImageFileNames().isEmpty()) {
             // Filter out null values and collect valid image data
             List<byte[]> validImageData = new ArrayList<>();
 
@@ -241,24 +288,12 @@ public class ProductServiceImpl implements IProductService {
             }
             
             dto.setImages(validImageData);
-            dto.setImageNames(validImageNames);
-            
-            // Set content type based on the first valid image file extension
-            if (!validImageNames.isEmpty()) {
-                String fileName = validImageNames.get(0);
-                try {
-                    String fileExtension = fileName.substring(fileName.lastIndexOf(".") + 1).toLowerCase();
-                    dto.setImageContentType("image/" + (fileExtension.equals("jpg") ? "jpeg" : fileExtension));
-                } catch (Exception e) {
-                    System.err.println("Error determining content type for file: " + fileName);
-                }
-            }
+            ProductMapper.setImages(dto, product.getId(), validImageNames);
         }
         
-        dto.setCreatedAt(product.getCreatedAt());
         return dto;
     }
-    
+
     private byte[] readImageFile(String fileName) {
         try {
             if (fileName == null || fileName.isBlank()) {
@@ -279,7 +314,8 @@ public class ProductServiceImpl implements IProductService {
                 return null;
             }
             
-            return Files.readAllBytes(imagePath);
+            ProductImageCache.CachedImage cachedImage = productImageCache.get(imagePath);
+            return cachedImage != null ? cachedImage.toByteArray() : Files.readAllBytes(imagePath);
         } catch (IOException e) {
             // Log the error but don't fail the entire request
             System.err.println("Error reading image file " + fileName + ": " + e.getMessage());
@@ -1,14 +1,16 @@
 package com.eazybytes.eazystore.service.impl;
 
-import com.eazybytes.eazystore.dto.AddressDto;
+import com.eazybytes.eazystore.dto.CustomerProfileDto;
 import com.eazybytes.eazystore.dto.ProfileRequestDto;
 import com.eazybytes.eazystore.dto.ProfileResponseDto;
-import com.eazybytes.eazystore.entity.Address;
 import com.eazybytes.eazystore.entity.Customer;
+import com.eazybytes.eazystore.mapper.CustomerMapper;
 import com.eazybytes.eazystore.repository.CustomerRepository;
+import com.eazybytes.eazystore.security.CustomerPrincipal;
 import com.eazybytes.eazystore.service.IProfileService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -19,50 +21,76 @@ import org.springframework.stereotype.Service;
 public class ProfileServiceImpl implements IProfileService {
 
     private final CustomerRepository customerRepository;
+    private final CacheManager cacheManager;
 
     @Override
     public ProfileResponseDto getProfile() {
-        Customer customer = getAuthenticatedCustomer();
-        return mapCustomerToProfileResponseDto(customer);
+        return CustomerMapper.toProfileResponseDto(getAuthenticatedProfile());
     }
 
     @Override
     public ProfileResponseDto updateProfile(ProfileRequestDto profileRequestDto) {
-        Customer customer = getAuthenticatedCustomer();
+        // Writes always start from the current row, never from the cached copy
+        Customer customer = loadAuthenticatedCustomer();
         boolean isEmailUpdated = !customer.getEmail().equals(profileRequestDto.getEmail().trim());
-        BeanUtils.copyProperties(profileRequestDto, customer);
-        Address address = customer.getAddress();
-        if (address == null) {
-            address = new Address();
-            address.setCustomer(customer);
-        }
-        address.setStreet(profileRequestDto.getStreet());
-        address.setCity(profileRequestDto.getCity());
-        address.setState(profileRequestDto.getState());
-        address.setPostalCode(profileRequestDto.getPostalCode());
-        address.setCountry(profileRequestDto.getCountry());
-        customer.setAddress(address);
+        CustomerMapper.copyToEntity(profileRequestDto, customer);
         customer = customerRepository.save(customer);
-        ProfileResponseDto profileResponseDto = mapCustomerToProfileResponseDto(customer);
+        customersCache().evict(customer.getCustomerId());
+        ProfileResponseDto profileResponseDto = CustomerMapper.toProfileResponseDto(customer);
         profileResponseDto.setEmailUpdated(isEmailUpdated);
         return profileResponseDto;
     }
 
-    public Customer getAuthenticatedCustomer() {
-        Authentication authentication =SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return customerRepository.findByEmail(email).
-                orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    /**
+     * Id of the caller, taken from the token claims without a query. Tokens issued
+     * before the id was a claim fall back to a lookup by email.
+     */
+    public Long getAuthenticatedCustomerId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof CustomerPrincipal principal
+                && principal.customerId() != null) {
+            return principal.customerId();
+        }
+        return loadAuthenticatedCustomer().getCustomerId();
     }
 
-    private ProfileResponseDto mapCustomerToProfileResponseDto(Customer customer) {
-        ProfileResponseDto profileResponseDto = new ProfileResponseDto();
-        BeanUtils.copyProperties(customer, profileResponseDto);
-        if (customer.getAddress() != null) {
-            AddressDto addressDto = new AddressDto();
-            BeanUtils.copyProperties(customer.getAddress(), addressDto);
-            profileResponseDto.setAddress(addressDto);
+    /**
+     * A lazy reference to the caller for use in associations, e.g. as the customer of a
+     * new order, which does not load the customer row.
+     */
+    public Customer getAuthenticatedCustomerReference() {
+        return customerRepository.getReferenceById(getAuthenticatedCustomerId());
+    }
+
+    /**
+     * The caller's profile, served from a short-lived cache that holds no credentials.
+     * A miss is loaded here rather than through a cache loader, so a missing customer
+     * surfaces as the UsernameNotFoundException itself instead of a wrapped one.
+     */
+    private CustomerProfileDto getAuthenticatedProfile() {
+        Long customerId = getAuthenticatedCustomerId();
+        Cache cache = customersCache();
+        CustomerProfileDto customerProfile = cache.get(customerId, CustomerProfileDto.class);
+        if (customerProfile == null) {
+            customerProfile = CustomerMapper.toCustomerProfileDto(customerRepository.findById(customerId)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found")));
+            cache.put(customerId, customerProfile);
         }
-        return profileResponseDto;
+        return customerProfile;
+    }
+
+    private Customer loadAuthenticatedCustomer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof CustomerPrincipal principal
+                && principal.customerId() != null) {
+            return customerRepository.findById(principal.customerId())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        }
+        return customerRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    private Cache customersCache() {
+        return cacheManager.getCache("customers");
     }
 }
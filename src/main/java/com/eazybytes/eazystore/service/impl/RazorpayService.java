@@ -1,5 +1,8 @@
 package com.eazybytes.eazystore.service.impl;
 
+import com.eazybytes.eazystore.entity.InventoryHold;
+import com.eazybytes.eazystore.scheduler.InventoryHoldReleaser;
+import com.eazybytes.eazystore.service.IInventoryHoldService;
 import com.eazybytes.eazystore.service.IRazorpayService;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
@@ -13,6 +16,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -20,6 +24,8 @@ import java.math.BigDecimal;
 public class RazorpayService implements IRazorpayService {
 
     private final RazorpayClient razorpayClient;
+    private final IInventoryHoldService inventoryHoldService;
+    private final InventoryHoldReleaser inventoryHoldReleaser;
 
     @Value("${razorpay.key.id}")
     private String razorpayKeyId;
@@ -27,8 +33,29 @@ public class RazorpayService implements IRazorpayService {
     @Value("${razorpay.key.secret}")
     private String razorpayKeySecret;
 
+    /**
+     * Creates the Razorpay order. When the request lists its items their stock is held
+     * first, so a checkout that cannot be fulfilled fails before reaching Razorpay, and
+     * the hold is released again if the Razorpay order cannot be created.
+     */
     @Override
     public String createOrder(RazorpayOrderRequest orderRequest) throws RazorpayException {
+        if (orderRequest.getItems() == null || orderRequest.getItems().isEmpty()) {
+            return createRazorpayOrder(orderRequest).toString();
+        }
+        InventoryHold hold = inventoryHoldService.placeHold(orderRequest.getItems());
+        inventoryHoldReleaser.schedule(hold);
+        try {
+            Order order = createRazorpayOrder(orderRequest);
+            inventoryHoldService.attachRazorpayOrder(hold.getHoldId(), order.get("id"));
+            return order.toString();
+        } catch (RazorpayException | RuntimeException e) {
+            inventoryHoldService.releaseHolds(List.of(hold.getHoldId()));
+            throw e;
+        }
+    }
+
+    private Order createRazorpayOrder(RazorpayOrderRequest orderRequest) throws RazorpayException {
         try {
             JSONObject orderRequestJson = new JSONObject();
             orderRequestJson.put("amount", orderRequest.getAmount().multiply(new BigDecimal(100)).intValue());
@@ -42,7 +69,7 @@ public class RazorpayService implements IRazorpayService {
             Order order = razorpayClient.orders.create(orderRequestJson);
             log.info("Razorpay order created successfully: {}"+ order.get("id"));
 
-            return order.toString();
+            return order;
         } catch (RazorpayException e) {
             log.error("Error creating Razorpay order: {}", e.getMessage(), e);
             throw e;
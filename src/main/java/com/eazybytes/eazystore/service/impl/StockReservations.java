@@ -0,0 +1,83 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.dto.OrderItemDto;
+import com.eazybytes.eazystore.dto.StockReservationResult;
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
+import com.eazybytes.eazystore.exception.StockReservationException;
+import com.eazybytes.eazystore.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stock reservation shared by order creation and inventory holds.
+ */
+final class StockReservations {
+
+    private StockReservations() {
+    }
+
+    /**
+     * Sums the requested quantities per product, in ascending product id order.
+     */
+    static SortedMap<Long, Integer> quantitiesOf(List<OrderItemDto> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidRequestException("At least one item is required");
+        }
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItemDto item : items) {
+            if (item.productId() == null || item.quantity() == null || item.quantity() <= 0) {
+                throw new InvalidRequestException("Each order item needs a product and a positive quantity");
+            }
+            quantities.merge(item.productId(), item.quantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * Reserves the stock of every product. The products are loaded with one query and
+     * checked in memory first; the decrements are then sent as one JDBC batch of
+     * conditional updates in ascending product id order, so concurrent reservations
+     * acquire the row locks in the same order and cannot deadlock or oversell. If any
+     * product fails the per-product outcomes are thrown and the transaction is rolled back.
+     */
+    static Map<Long, Product> reserve(ProductRepository productRepository, SortedMap<Long, Integer> quantities) {
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<StockReservationResult> results = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            StockReservationResult.Status status = product == null
+                    ? StockReservationResult.Status.PRODUCT_NOT_FOUND
+                    : product.getQuantity() == null || product.getQuantity() < entry.getValue()
+                    ? StockReservationResult.Status.INSUFFICIENT_STOCK
+                    : StockReservationResult.Status.AVAILABLE;
+            results.add(new StockReservationResult(entry.getKey(), entry.getValue(), status));
+        }
+        if (results.stream().anyMatch(StockReservationResult::isFailed)) {
+            throw new StockReservationException(results);
+        }
+
+        // The stock may have changed since it was read, the conditional update decides
+        int[] updateCounts = productRepository.reserveStockBatch(quantities);
+        boolean allReserved = true;
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                StockReservationResult result = results.get(i);
+                results.set(i, new StockReservationResult(result.productId(), result.requestedQuantity(),
+                        StockReservationResult.Status.INSUFFICIENT_STOCK));
+                allReserved = false;
+            }
+        }
+        if (!allReserved) {
+            throw new StockReservationException(results);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,82 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.dto.UnfulfilledPaymentDto;
+import com.eazybytes.eazystore.entity.UnfulfilledPayment;
+import com.eazybytes.eazystore.entity.UnfulfilledPaymentStatus;
+import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+import com.eazybytes.eazystore.repository.UnfulfilledPaymentRepository;
+import com.eazybytes.eazystore.service.IUnfulfilledPaymentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Slf4j
+@Service
+@Transactional
+public class UnfulfilledPaymentServiceImpl implements IUnfulfilledPaymentService {
+
+    private static final int MAX_REASON_LENGTH = 500;
+
+    private final UnfulfilledPaymentRepository unfulfilledPaymentRepository;
+    private final ProfileServiceImpl profileService;
+    private final Counter recordedPayments;
+
+    public UnfulfilledPaymentServiceImpl(UnfulfilledPaymentRepository unfulfilledPaymentRepository,
+            ProfileServiceImpl profileService, MeterRegistry meterRegistry) {
+        this.unfulfilledPaymentRepository = unfulfilledPaymentRepository;
+        this.profileService = profileService;
+        this.recordedPayments = Counter.builder("payments.unfulfilled")
+                .description("Verified payments recorded for a refund because no order could be created")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordPayment(String paymentId, String razorpayOrderId, BigDecimal amount, String reason) {
+        if (unfulfilledPaymentRepository.existsByPaymentId(paymentId)) {
+            return;
+        }
+        UnfulfilledPayment payment = new UnfulfilledPayment();
+        payment.setPaymentId(paymentId);
+        payment.setRazorpayOrderId(razorpayOrderId);
+        payment.setCustomerId(profileService.getAuthenticatedCustomerId());
+        payment.setAmount(amount);
+        payment.setReason(reason == null || reason.length() <= MAX_REASON_LENGTH
+                ? reason : reason.substring(0, MAX_REASON_LENGTH));
+        payment.setStatus(UnfulfilledPaymentStatus.REFUND_PENDING);
+        unfulfilledPaymentRepository.save(payment);
+        recordedPayments.increment();
+        log.error("Payment {} of Razorpay order {} was captured but no order was created, refund pending: {}",
+                paymentId, razorpayOrderId, reason);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isRecorded(String paymentId) {
+        return unfulfilledPaymentRepository.existsByPaymentId(paymentId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UnfulfilledPaymentDto> getRefundPendingPayments() {
+        return unfulfilledPaymentRepository.findByStatusOrderByCreatedAtAsc(UnfulfilledPaymentStatus.REFUND_PENDING)
+                .stream()
+                .map(payment -> new UnfulfilledPaymentDto(payment.getUnfulfilledPaymentId(), payment.getPaymentId(),
+                        payment.getRazorpayOrderId(), payment.getCustomerId(), payment.getAmount(),
+                        payment.getReason(), payment.getCreatedAt()))
+                .toList();
+    }
+
+    @Override
+    public void markRefunded(Long unfulfilledPaymentId) {
+        UnfulfilledPayment payment = unfulfilledPaymentRepository.findById(unfulfilledPaymentId).orElseThrow(
+                () -> new ResourceNotFoundException("Payment", "UnfulfilledPaymentID", unfulfilledPaymentId.toString()));
+        payment.setStatus(UnfulfilledPaymentStatus.REFUNDED);
+    }
+}
@@ -1,11 +1,10 @@
 package com.eazybytes.eazystore.service.impl;
 
-import com.eazybytes.eazystore.dto.AddressDto;
 import com.eazybytes.eazystore.dto.UserDto;
-import com.eazybytes.eazystore.entity.Address;
 import com.eazybytes.eazystore.entity.Customer;
 import com.eazybytes.eazystore.entity.Role;
 import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+import com.eazybytes.eazystore.mapper.CustomerMapper;
 import com.eazybytes.eazystore.repository.CustomerRepository;
 import com.eazybytes.eazystore.service.IUserService;
 import lombok.RequiredArgsConstructor;
@@ -48,11 +47,7 @@ public class UserServiceImpl implements IUserService {
     }
 
     private UserDto convertToDto(Customer customer) {
-        UserDto userDto = new UserDto();
-        userDto.setUserId(customer.getCustomerId());
-        userDto.setName(customer.getName());
-        userDto.setEmail(customer.getEmail());
-        userDto.setMobileNumber(customer.getMobileNumber());
+        UserDto userDto = CustomerMapper.toUserDto(customer);
         
         // Map roles
         if (customer.getRoles() != null && !customer.getRoles().isEmpty()) {
@@ -63,18 +58,6 @@ public class UserServiceImpl implements IUserService {
             userDto.setRoles(roles);
         }
         
-        // Map address if exists
-        Address address = customer.getAddress();
-        if (address != null) {
-            AddressDto addressDto = new AddressDto();
-            addressDto.setStreet(address.getStreet());
-            addressDto.setCity(address.getCity());
-            addressDto.setState(address.getState());
-            addressDto.setPostalCode(address.getPostalCode());
-            addressDto.setCountry(address.getCountry());
-            userDto.setAddress(addressDto);
-        }
-        
         return userDto;
     }
 }
@@ -1,33 +1,27 @@
 package com.eazybytes.eazystore.util;
 
-import com.eazybytes.eazystore.constants.ApplicationConstants;
 import com.eazybytes.eazystore.entity.Customer;
+import com.eazybytes.eazystore.security.JwtKeyProvider;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.env.Environment;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class JwtUtil {
 
-    private final Environment env;
+    private final JwtKeyProvider jwtKeyProvider;
 
     public String generateJwtToken(Authentication authentication){
         String jwt = "";
-        String secret = env.getProperty(ApplicationConstants.JWT_SECRET_KEY,
-                ApplicationConstants.JWT_SECRET_DEFAULT_VALUE);
-        SecretKey secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         Customer fetchedCustomer = (Customer) authentication.getPrincipal();
         jwt = Jwts.builder().issuer("Eazy Store").subject("JWT Token")
+                .claim("customerId", fetchedCustomer.getCustomerId())
                 .claim("username", fetchedCustomer.getName())
                 .claim("email", fetchedCustomer.getEmail())
                 .claim("mobileNumber", fetchedCustomer.getMobileNumber())
@@ -35,7 +29,7 @@ public class JwtUtil {
                         GrantedAuthority::getAuthority).collect(Collectors.joining(",")))
                 .issuedAt(new java.util.Date())
                 .expiration(new java.util.Date((new java.util.Date()).getTime() + 24 * 60 * 60 * 1000))
-                .signWith(secretKey).compact();
+                .signWith(jwtKeyProvider.getSigningKey()).compact();
         return jwt;
     }
 }
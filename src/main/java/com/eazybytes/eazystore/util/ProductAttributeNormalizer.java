@@ -0,0 +1,51 @@
+package com.eazybytes.eazystore.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Cleans up product colors and sizes as submitted by the admin form, where a single
+ * value may hold several comma separated entries wrapped in quotes or brackets.
+ * Applied once when a product is written, so reads can copy the values as they are.
+ */
+public final class ProductAttributeNormalizer {
+
+    // Remove all non-alphanumeric characters except # (hex colors) and comma
+    private static final Pattern COLOR_NOISE = Pattern.compile("[^a-zA-Z0-9,#]");
+    // Remove all non-alphanumeric characters except comma
+    private static final Pattern SIZE_NOISE = Pattern.compile("[^a-zA-Z0-9,]");
+
+    private ProductAttributeNormalizer() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static List<String> normalizeColors(List<String> colors) {
+        return normalize(colors, COLOR_NOISE);
+    }
+
+    public static List<String> normalizeSizes(List<String> sizes) {
+        return normalize(sizes, SIZE_NOISE);
+    }
+
+    private static List<String> normalize(List<String> values, Pattern noise) {
+        if (values == null) {
+            return new ArrayList<>();
+        }
+        // Split by comma if multiple values are in one string, keeping the first occurrence
+        Set<String> cleaned = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (String part : noise.matcher(value).replaceAll("").split(",")) {
+                if (!part.isEmpty()) {
+                    cleaned.add(part);
+                }
+            }
+        }
+        return new ArrayList<>(cleaned);
+    }
+}
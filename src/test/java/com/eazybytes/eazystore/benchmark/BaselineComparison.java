@@ -0,0 +1,82 @@
+package com.eazybytes.eazystore.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prints how a JMH JSON result compares with the committed baseline.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <result.json> [maxRegressionPercent]}.
+ * When a maximum is given and any benchmark regressed by more than that percentage the
+ * process exits with status 1, otherwise the comparison is informational only.
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [maxRegressionPercent]");
+            System.exit(2);
+        }
+        Path baselineFile = Path.of(args[0]);
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No benchmark baseline at " + baselineFile + ", skipping comparison");
+            return;
+        }
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+
+        Map<String, JsonNode> baseline = readResults(baselineFile);
+        Map<String, JsonNode> current = readResults(Path.of(args[1]));
+
+        boolean failed = false;
+        System.out.printf("%-75s %12s %12s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode result = entry.getValue();
+            double score = result.at("/primaryMetric/score").asDouble();
+            String unit = result.at("/primaryMetric/scoreUnit").asText();
+            JsonNode previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                System.out.printf("%-75s %12s %12.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+            double baselineScore = previous.at("/primaryMetric/score").asDouble();
+            double change = (score - baselineScore) / baselineScore * 100;
+            // Throughput improves upwards, every other mode measures time and improves downwards
+            double regression = "thrpt".equals(result.path("mode").asText()) ? -change : change;
+            boolean regressed = maxRegression > 0 && regression > maxRegression;
+            failed |= regressed;
+            System.out.printf("%-75s %12.3f %12.3f %+8.1f%%  %s%s%n", entry.getKey(), baselineScore, score,
+                    change, unit, regressed ? "  REGRESSION" : "");
+        }
+        if (failed) {
+            System.err.println("Benchmarks regressed by more than " + maxRegression + "% against the baseline");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> readResults(Path file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    private static String key(JsonNode result) {
+        String name = result.path("benchmark").asText().replace(
+                BaselineComparison.class.getPackageName() + ".", "");
+        Map<String, String> params = new LinkedHashMap<>();
+        result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+        return params.isEmpty() ? name : name + params;
+    }
+}
@@ -0,0 +1,127 @@
+package com.eazybytes.eazystore.benchmark;
+
+import com.eazybytes.eazystore.dto.OrderItemDto;
+import com.eazybytes.eazystore.dto.OrderRequestDto;
+import com.eazybytes.eazystore.entity.Order;
+import com.eazybytes.eazystore.entity.OrderItem;
+import com.eazybytes.eazystore.entity.OrderStatus;
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.repository.projection.OrderHistoryRow;
+import com.eazybytes.eazystore.repository.projection.ProductImageRow;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic, deterministic entities, DTOs and repository stubs shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final Instant CREATED_AT = Instant.parse("2025-01-01T00:00:00Z");
+
+    private BenchmarkFixtures() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Sticker " + id);
+        product.setDescription("A synthetic product used to benchmark the mapping layer");
+        product.setPrice(BigDecimal.valueOf(1000 + id, 2));
+        product.setPopularity((int) (id % 500));
+        product.setQuantity(100);
+        product.setCategory("Stickers");
+        product.setSubcategory("Laptop");
+        product.setColors(new ArrayList<>(List.of("red", "blue", "green")));
+        product.setSizes(new ArrayList<>(List.of("S", "M", "L")));
+        product.setImageFileNames(new ArrayList<>(List.of(
+                "sticker-" + id + "-front.png", "sticker-" + id + "-back.png", "sticker-" + id + "-side.jpg")));
+        product.setCreatedAt(CREATED_AT);
+        return product;
+    }
+
+    static Order order(long id, int itemCount) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setOrderStatus(OrderStatus.PROCESSING);
+        order.setPaymentId("pay_" + id);
+        order.setPaymentStatus("paid");
+        order.setCreatedAt(CREATED_AT);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            Product product = product(id * 100 + i);
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrderItemId(id * 100 + i);
+            orderItem.setOrder(order);
+            orderItem.setProduct(product);
+            orderItem.setQuantity(1 + i % 3);
+            orderItem.setPrice(product.getPrice());
+            order.getOrderItems().add(orderItem);
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity())));
+        }
+        order.setTotalPrice(total);
+        return order;
+    }
+
+    /**
+     * The given orders flattened the way the order history query returns them.
+     */
+    static List<OrderHistoryRow> orderHistoryRows(List<Order> orders) {
+        List<OrderHistoryRow> rows = new ArrayList<>();
+        for (Order order : orders) {
+            for (OrderItem orderItem : order.getOrderItems()) {
+                Product product = orderItem.getProduct();
+                rows.add(new OrderHistoryRow(order.getOrderId(), order.getOrderStatus(), order.getTotalPrice(),
+                        order.getCreatedAt(), product.getId(), product.getName(), orderItem.getQuantity(),
+                        orderItem.getPrice()));
+            }
+        }
+        return rows;
+    }
+
+    static List<ProductImageRow> productImageRows(List<Order> orders) {
+        List<ProductImageRow> rows = new ArrayList<>();
+        for (Order order : orders) {
+            for (OrderItem orderItem : order.getOrderItems()) {
+                Product product = orderItem.getProduct();
+                for (String imageFileName : product.getImageFileNames()) {
+                    rows.add(new ProductImageRow(product.getId(), imageFileName));
+                }
+            }
+        }
+        return rows;
+    }
+
+    static OrderRequestDto orderRequest(int itemCount) {
+        List<OrderItemDto> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemDto((long) i + 1, 1 + i % 3, BigDecimal.valueOf(1000 + i, 2)));
+        }
+        return new OrderRequestDto(new BigDecimal("99.90"), "pay_1", "paid", items);
+    }
+
+    /**
+     * A dynamic proxy answering the named methods with fixed results, so services can be
+     * benchmarked without a database or a mocking framework on the measured path.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Object> results) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> type.getSimpleName() + " stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        if (!results.containsKey(method.getName())) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        yield results.get(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,86 @@
+package com.eazybytes.eazystore.benchmark;
+
+import com.eazybytes.eazystore.constants.ApplicationConstants;
+import com.eazybytes.eazystore.entity.Customer;
+import com.eazybytes.eazystore.filter.JWTTokenValidatorFilter;
+import com.eazybytes.eazystore.security.JwtKeyProvider;
+import com.eazybytes.eazystore.security.JwtTokenVerifier;
+import com.eazybytes.eazystore.security.PublicPathMatcher;
+import com.eazybytes.eazystore.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures token issuing in {@link JwtUtil} and token validation in
+ * {@link JWTTokenValidatorFilter} for an authenticated request. The filter serves repeat
+ * tokens from the verified-token cache, so the signature check alone is measured apart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class JwtBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtKeyProvider jwtKeyProvider;
+    private JwtUtil jwtUtil;
+    private JWTTokenValidatorFilter filter;
+    private Authentication authentication;
+    private String token;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        jwtKeyProvider = new JwtKeyProvider(new MockEnvironment());
+        jwtUtil = new JwtUtil(jwtKeyProvider);
+        filter = new JWTTokenValidatorFilter(new PublicPathMatcher(List.of("/api/v1/products/**", "/api/v1/auth/**")),
+                new JwtTokenVerifier(jwtKeyProvider, new SimpleMeterRegistry(), 10_000));
+
+        Customer customer = new Customer();
+        customer.setCustomerId(1L);
+        customer.setName("Bench User");
+        customer.setEmail("bench@eazystore.com");
+        customer.setMobileNumber("9876543210");
+        authentication = new UsernamePasswordAuthenticationToken(customer, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        token = jwtUtil.generateJwtToken(authentication);
+        authorizationHeader = "Bearer " + token;
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtil.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public Claims verifySignature() {
+        return jwtKeyProvider.getParser().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public int validateToken() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders");
+        request.addHeader(ApplicationConstants.JWT_HEADER, authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+}
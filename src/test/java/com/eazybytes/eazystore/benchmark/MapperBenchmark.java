@@ -0,0 +1,97 @@
+package com.eazybytes.eazystore.benchmark;
+
+import com.eazybytes.eazystore.dto.OrderRequestDto;
+import com.eazybytes.eazystore.dto.OrderResponseDto;
+import com.eazybytes.eazystore.dto.ProductDto;
+import com.eazybytes.eazystore.entity.Order;
+import com.eazybytes.eazystore.entity.OrderStatus;
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.mapper.OrderMapper;
+import com.eazybytes.eazystore.mapper.ProductMapper;
+import com.eazybytes.eazystore.util.ProductImageUrls;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written mappers with the reflective {@link BeanUtils} copies they
+ * replaced. The BeanUtils methods reproduce the former service code verbatim.
+ * Order responses are records, which BeanUtils cannot populate, so only the mapper
+ * is measured for them next to the BeanUtils copy of the order request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class MapperBenchmark {
+
+    @Param({"1", "10"})
+    private int orderItems;
+
+    private Product product;
+    private Order order;
+    private OrderRequestDto orderRequest;
+
+    @Setup
+    public void setUp() {
+        product = BenchmarkFixtures.product(42);
+        order = BenchmarkFixtures.order(7, orderItems);
+        orderRequest = BenchmarkFixtures.orderRequest(orderItems);
+    }
+
+    @Benchmark
+    public ProductDto productToDtoBeanUtils() {
+        ProductDto dto = new ProductDto();
+        BeanUtils.copyProperties(product, dto);
+        dto.setProductId(product.getId());
+        dto.setQuantity(product.getQuantity());
+        dto.setPopularity(product.getPopularity());
+        dto.setCategory(product.getCategory());
+        dto.setSubcategory(product.getSubcategory());
+        dto.setColors(product.getColors() == null ? null : List.copyOf(product.getColors()));
+        dto.setSizes(product.getSizes() == null ? null : List.copyOf(product.getSizes()));
+        dto.setImageNames(product.getImageFileNames());
+        dto.setImageUrls(ProductImageUrls.of(product.getId(), product.getImageFileNames()));
+        dto.setThumbnailUrls(ProductImageUrls.of(product.getId(), product.getImageFileNames(),
+                ProductImageUrls.LISTING_IMAGE_WIDTH));
+        dto.setImageContentType(ProductMapper.imageContentType(product.getImageFileNames()));
+        dto.setCreatedAt(product.getCreatedAt());
+        return dto;
+    }
+
+    @Benchmark
+    public ProductDto productToDtoMapper() {
+        return ProductMapper.toDto(product);
+    }
+
+    @Benchmark
+    public Order orderRequestToOrderBeanUtils() {
+        Order entity = new Order();
+        BeanUtils.copyProperties(orderRequest, entity);
+        entity.setOrderStatus(OrderStatus.PENDING);
+        return entity;
+    }
+
+    @Benchmark
+    public Order orderRequestToOrderMapper() {
+        return OrderMapper.toEntity(orderRequest, OrderStatus.PENDING);
+    }
+
+    @Benchmark
+    public OrderResponseDto orderToResponseDtoMapper() {
+        return OrderMapper.toResponseDto(order);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
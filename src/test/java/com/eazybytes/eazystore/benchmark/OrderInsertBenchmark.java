@@ -0,0 +1,176 @@
+package com.eazybytes.eazystore.benchmark;
+
+import com.eazybytes.eazystore.constants.ApplicationConstants;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures persisting one order with its items the way Hibernate does for IDENTITY ids,
+ * one INSERT per row reading back the generated key, against pooled-lo sequence ids,
+ * where a sequence call covers a block of ids and the item rows go out as one JDBC batch.
+ * Runs on an in-memory H2 database, so it shows the statement overhead only; against a
+ * remote PostgreSQL every saved statement is also a saved network round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class OrderInsertBenchmark {
+
+    private static final String INSERT_ORDER = "INSERT INTO orders (customer_id, total_price, created_at) VALUES (?, ?, ?)";
+    private static final String INSERT_ORDER_WITH_ID =
+            "INSERT INTO orders (order_id, customer_id, total_price, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_ITEM =
+            "INSERT INTO order_items (order_id, product_id, quantity, price, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ITEM_WITH_ID =
+            "INSERT INTO order_items (order_item_id, order_id, product_id, quantity, price, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private Connection connection;
+    private PooledLoIds orderIds;
+    private PooledLoIds orderItemIds;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:orderInsertBenchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS orders (order_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                    + " customer_id BIGINT NOT NULL, total_price NUMERIC(10, 2) NOT NULL, created_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE TABLE IF NOT EXISTS order_items (order_item_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                    + " order_id BIGINT NOT NULL REFERENCES orders, product_id BIGINT NOT NULL, quantity INT NOT NULL,"
+                    + " price NUMERIC(10, 2) NOT NULL, created_at TIMESTAMP NOT NULL)");
+            // Far above the identity values so both ways can share the tables
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1000000000 INCREMENT BY "
+                    + ApplicationConstants.ID_ALLOCATION_SIZE);
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1000000000 INCREMENT BY "
+                    + ApplicationConstants.ID_ALLOCATION_SIZE);
+        }
+        connection.commit();
+        orderIds = new PooledLoIds(connection, "orders_seq");
+        orderItemIds = new PooledLoIds(connection, "order_items_seq");
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM order_items");
+            statement.execute("DELETE FROM orders");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long identityInserts() throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        long orderId;
+        try (PreparedStatement insertOrder = connection.prepareStatement(INSERT_ORDER, Statement.RETURN_GENERATED_KEYS)) {
+            insertOrder.setLong(1, 1L);
+            insertOrder.setBigDecimal(2, BigDecimal.TEN);
+            insertOrder.setTimestamp(3, now);
+            insertOrder.executeUpdate();
+            orderId = generatedKey(insertOrder);
+        }
+        long lastItemId = 0;
+        try (PreparedStatement insertItem = connection.prepareStatement(INSERT_ITEM, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < items; i++) {
+                insertItem.setLong(1, orderId);
+                insertItem.setLong(2, i + 1);
+                insertItem.setInt(3, 1);
+                insertItem.setBigDecimal(4, BigDecimal.ONE);
+                insertItem.setTimestamp(5, now);
+                insertItem.executeUpdate();
+                lastItemId = generatedKey(insertItem);
+            }
+        }
+        connection.commit();
+        return lastItemId;
+    }
+
+    @Benchmark
+    public long pooledSequenceBatchInserts() throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        long orderId = orderIds.next();
+        try (PreparedStatement insertOrder = connection.prepareStatement(INSERT_ORDER_WITH_ID)) {
+            insertOrder.setLong(1, orderId);
+            insertOrder.setLong(2, 1L);
+            insertOrder.setBigDecimal(3, BigDecimal.TEN);
+            insertOrder.setTimestamp(4, now);
+            insertOrder.executeUpdate();
+        }
+        long lastItemId = 0;
+        try (PreparedStatement insertItem = connection.prepareStatement(INSERT_ITEM_WITH_ID)) {
+            for (int i = 0; i < items; i++) {
+                lastItemId = orderItemIds.next();
+                insertItem.setLong(1, lastItemId);
+                insertItem.setLong(2, orderId);
+                insertItem.setLong(3, i + 1);
+                insertItem.setInt(4, 1);
+                insertItem.setBigDecimal(5, BigDecimal.ONE);
+                insertItem.setTimestamp(6, now);
+                insertItem.addBatch();
+            }
+            insertItem.executeBatch();
+        }
+        connection.commit();
+        return lastItemId;
+    }
+
+    private static long generatedKey(PreparedStatement statement) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            keys.next();
+            return keys.getLong(1);
+        }
+    }
+
+    /**
+     * Hands out ids like Hibernate's pooled-lo optimizer: the sequence value is the first
+     * id of a block of {@link ApplicationConstants#ID_ALLOCATION_SIZE} ids.
+     */
+    private static final class PooledLoIds {
+
+        private final Connection connection;
+        private final String nextValueSql;
+        private long next;
+        private long blockEnd;
+
+        PooledLoIds(Connection connection, String sequence) {
+            this.connection = connection;
+            this.nextValueSql = "SELECT NEXT VALUE FOR " + sequence;
+        }
+
+        long next() throws SQLException {
+            if (next == blockEnd) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet value = statement.executeQuery(nextValueSql)) {
+                    value.next();
+                    next = value.getLong(1);
+                    blockEnd = next + ApplicationConstants.ID_ALLOCATION_SIZE;
+                }
+            }
+            return next++;
+        }
+    }
+}
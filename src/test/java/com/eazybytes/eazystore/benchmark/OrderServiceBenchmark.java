@@ -0,0 +1,67 @@
+package com.eazybytes.eazystore.benchmark;
+
+import com.eazybytes.eazystore.dto.OrderResponseDto;
+import com.eazybytes.eazystore.entity.Customer;
+import com.eazybytes.eazystore.entity.Order;
+import com.eazybytes.eazystore.repository.CustomerRepository;
+import com.eazybytes.eazystore.repository.OrderRepository;
+import com.eazybytes.eazystore.security.CustomerPrincipal;
+import com.eazybytes.eazystore.service.impl.OrderServiceImpl;
+import com.eazybytes.eazystore.service.impl.ProfileServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures assembling the order history from its flat query rows in
+ * {@code OrderServiceImpl.getCustomerOrders}, against in-memory repository stubs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class OrderServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int orders;
+
+    private OrderServiceImpl orderService;
+
+    @Setup
+    public void setUp() {
+        Customer customer = new Customer();
+        customer.setCustomerId(1L);
+        customer.setEmail("bench@eazystore.com");
+        List<Order> customerOrders = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            customerOrders.add(BenchmarkFixtures.order(i + 1, 3));
+        }
+        CustomerRepository customerRepository = BenchmarkFixtures.stub(CustomerRepository.class,
+                Map.of("findByEmail", Optional.of(customer)));
+        OrderRepository orderRepository = BenchmarkFixtures.stub(OrderRepository.class,
+                Map.of("findOrderHistoryRows", BenchmarkFixtures.orderHistoryRows(customerOrders),
+                        "findProductImageRows", BenchmarkFixtures.productImageRows(customerOrders)));
+        orderService = new OrderServiceImpl(orderRepository, null, new ProfileServiceImpl(customerRepository, null),
+                null, null, null);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(
+                new CustomerPrincipal(customer.getCustomerId(), customer.getEmail(), "Bench User"), null, "ROLE_USER"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> mapToOrderResponseDTO() {
+        return orderService.getCustomerOrders();
+    }
+}
@@ -0,0 +1,55 @@
+package com.eazybytes.eazystore.benchmark;
+
+import com.eazybytes.eazystore.entity.Customer;
+import com.eazybytes.eazystore.entity.Role;
+import com.eazybytes.eazystore.repository.CustomerRepository;
+import com.eazybytes.eazystore.security.EazyStoreUsernamePwdAuthenticationProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a successful login through {@link EazyStoreUsernamePwdAuthenticationProvider},
+ * which is dominated by the BCrypt verification of the stored hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class PasswordVerificationBenchmark {
+
+    private static final String PASSWORD = "EazyStore@12345";
+
+    private EazyStoreUsernamePwdAuthenticationProvider authenticationProvider;
+    private Authentication loginRequest;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        Customer customer = new Customer();
+        customer.setCustomerId(1L);
+        customer.setEmail("bench@eazystore.com");
+        customer.setPasswordHash(passwordEncoder.encode(PASSWORD));
+        customer.setRoles(Set.of(role));
+        CustomerRepository customerRepository = BenchmarkFixtures.stub(CustomerRepository.class,
+                Map.of("findByEmail", Optional.of(customer)));
+        authenticationProvider = new EazyStoreUsernamePwdAuthenticationProvider(customerRepository, passwordEncoder);
+        loginRequest = new UsernamePasswordAuthenticationToken(customer.getEmail(), PASSWORD);
+    }
+
+    @Benchmark
+    public Authentication verifyPassword() {
+        return authenticationProvider.authenticate(loginRequest);
+    }
+}
@@ -0,0 +1,37 @@
+package com.eazybytes.eazystore.benchmark;
+
+import com.eazybytes.eazystore.dto.ProductDto;
+import com.eazybytes.eazystore.repository.ProductRepository;
+import com.eazybytes.eazystore.service.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the uncached product read, which is dominated by
+ * {@code ProductServiceImpl.convertToDto}, against an in-memory repository stub.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class ProductServiceBenchmark {
+
+    private ProductServiceImpl productService;
+
+    @Setup
+    public void setUp() {
+        ProductRepository productRepository = BenchmarkFixtures.stub(ProductRepository.class,
+                Map.of("findById", Optional.of(BenchmarkFixtures.product(42))));
+        productService = new ProductServiceImpl(productRepository, null, null, null);
+    }
+
+    @Benchmark
+    public ProductDto convertToDto() {
+        return productService.loadProductById(42L, false);
+    }
+}
@@ -0,0 +1,60 @@
+package com.eazybytes.eazystore.benchmark;
+
+import com.eazybytes.eazystore.security.PublicPathConfig;
+import com.eazybytes.eazystore.security.PublicPathMatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of deciding whether a path is public, comparing the former
+ * AntPathMatcher scan over every pattern with {@link PublicPathMatcher} as the
+ * list of public paths grows. The configured paths are padded with synthetic
+ * literal, prefix and wildcard patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class PublicPathMatcherBenchmark {
+
+    @Param({"16", "64", "256"})
+    private int publicPathCount;
+
+    @Param({"/api/v1/orders/history", "/api/v1/products/42"})
+    private String requestPath;
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+    private List<String> publicPaths;
+    private PublicPathMatcher publicPathMatcher;
+
+    @Setup
+    public void setUp() {
+        publicPaths = new ArrayList<>();
+        for (int i = 0; publicPaths.size() < publicPathCount - new PublicPathConfig().publicPaths().size(); i++) {
+            publicPaths.add(switch (i % 3) {
+                case 0 -> "/api/v1/public-" + i + "/**";
+                case 1 -> "/api/v1/static/page-" + i;
+                default -> "/api/v1/assets-" + i + "/*.css";
+            });
+        }
+        // Real paths last, the worst case for the linear scan
+        publicPaths.addAll(new PublicPathConfig().publicPaths());
+        publicPathMatcher = new PublicPathMatcher(publicPaths);
+    }
+
+    @Benchmark
+    public boolean antPathMatcherScan() {
+        return publicPaths.stream().anyMatch(publicPath -> antPathMatcher.match(publicPath, requestPath));
+    }
+
+    @Benchmark
+    public boolean publicPathMatcher() {
+        return publicPathMatcher.matches(requestPath);
+    }
+}
@@ -0,0 +1,192 @@
+package com.eazybytes.eazystore.repository;
+
+import com.eazybytes.eazystore.config.AuditorAwareImpl;
+import com.eazybytes.eazystore.dto.AdminOrderQuery;
+import com.eazybytes.eazystore.entity.Customer;
+import com.eazybytes.eazystore.entity.Order;
+import com.eazybytes.eazystore.entity.OrderItem;
+import com.eazybytes.eazystore.entity.OrderStatus;
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.repository.projection.OrderHistoryRow;
+import com.eazybytes.eazystore.repository.projection.OrderKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(AuditorAwareImpl.class)
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Product sticker;
+    private Product mug;
+
+    @BeforeEach
+    void setUp() {
+        sticker = product("Sticker");
+        mug = product("Mug");
+    }
+
+    @Test
+    void historyRowsByStatusSpanAllCustomersOldestFirst() {
+        Order first = order(customer("first@eazystore.com"), OrderStatus.PENDING, sticker, mug);
+        order(customer("second@eazystore.com"), OrderStatus.CONFIRMED, sticker);
+        Order third = order(customer("third@eazystore.com"), OrderStatus.PENDING, mug);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OrderHistoryRow> rows = orderRepository.findOrderHistoryRowsByStatus(OrderStatus.PENDING);
+
+        assertThat(rows).extracting(OrderHistoryRow::orderId)
+                .containsExactly(first.getOrderId(), first.getOrderId(), third.getOrderId());
+        assertThat(rows).extracting(OrderHistoryRow::productName).containsExactly("Sticker", "Mug", "Mug");
+        assertThat(rows).extracting(OrderHistoryRow::orderStatus).containsOnly(OrderStatus.PENDING);
+    }
+
+    @Test
+    void customerKeysetPagesWalkNewestFirstAndBreakTiesById() {
+        Customer customer = customer("keyset@eazystore.com");
+        Instant tied = Instant.parse("2025-01-02T10:00:00Z");
+        Order oldest = createdAt(order(customer, OrderStatus.CONFIRMED, sticker), Instant.parse("2025-01-01T10:00:00Z"));
+        Order tiedLow = createdAt(order(customer, OrderStatus.CONFIRMED, mug), tied);
+        Order tiedHigh = createdAt(order(customer, OrderStatus.PENDING, sticker), tied);
+        Order newest = createdAt(order(customer, OrderStatus.PENDING, mug), Instant.parse("2025-01-03T10:00:00Z"));
+        createdAt(order(customer("other@eazystore.com"), OrderStatus.PENDING, mug), tied);
+        entityManager.clear();
+        Long customerId = customer.getCustomerId();
+
+        List<OrderKey> first = orderRepository.findOrderKeys(customerId, Limit.of(2));
+        OrderKey last = first.get(first.size() - 1);
+        List<OrderKey> second = orderRepository.findOrderKeysAfter(customerId, last.createdAt(), last.orderId(),
+                Limit.of(2));
+        OrderKey end = second.get(second.size() - 1);
+        List<OrderKey> third = orderRepository.findOrderKeysAfter(customerId, end.createdAt(), end.orderId(),
+                Limit.of(2));
+
+        assertThat(first).extracting(OrderKey::orderId).containsExactly(newest.getOrderId(), tiedHigh.getOrderId());
+        assertThat(second).extracting(OrderKey::orderId).containsExactly(tiedLow.getOrderId(), oldest.getOrderId());
+        assertThat(third).isEmpty();
+    }
+
+    @Test
+    void adminKeysetPagesWalkOldestFirstWithinTheFilters() {
+        Customer customer = customer("admin-keyset@eazystore.com");
+        Instant tied = Instant.parse("2025-02-02T10:00:00Z");
+        Order tiedLow = createdAt(order(customer, OrderStatus.PENDING, sticker), tied);
+        Order tiedHigh = createdAt(order(customer, OrderStatus.PENDING, mug), tied);
+        Order later = createdAt(order(customer, OrderStatus.PENDING, sticker), Instant.parse("2025-02-03T10:00:00Z"));
+        createdAt(order(customer, OrderStatus.CONFIRMED, mug), tied);
+        createdAt(order(customer, OrderStatus.PENDING, mug), Instant.parse("2025-02-05T10:00:00Z"));
+        entityManager.clear();
+        AdminOrderQuery query = new AdminOrderQuery(OrderStatus.PENDING, Instant.parse("2025-02-01T00:00:00Z"),
+                Instant.parse("2025-02-04T00:00:00Z"), customer.getCustomerId(), null, 2, null);
+        Sort sort = Sort.by(Sort.Direction.ASC, "createdAt", "orderId");
+
+        List<Order> first = orderRepository.findBy(OrderSpecifications.matching(query),
+                q -> q.sortBy(sort).limit(2).all());
+        Order last = first.get(first.size() - 1);
+        Specification<Order> next = OrderSpecifications.matching(query)
+                .and(OrderSpecifications.after(last.getCreatedAt(), last.getOrderId()));
+        List<Order> second = orderRepository.findBy(next, q -> q.sortBy(sort).limit(2).all());
+
+        assertThat(first).extracting(Order::getOrderId).containsExactly(tiedLow.getOrderId(), tiedHigh.getOrderId());
+        assertThat(second).extracting(Order::getOrderId).containsExactly(later.getOrderId());
+    }
+
+    @Test
+    void sweeperLocksOnlyUnpaidReservedPendingOrdersOlderThanTheCutoff() {
+        Customer customer = customer("sweeper@eazystore.com");
+        Instant cutoff = Instant.parse("2025-03-01T00:00:00Z");
+        Instant stale = cutoff.minusSeconds(3600);
+        Order older = createdAt(unpaid(order(customer, OrderStatus.PENDING, sticker)), stale.minusSeconds(60));
+        Order expired = createdAt(unpaid(order(customer, OrderStatus.PENDING, mug)), stale);
+        createdAt(unpaid(order(customer, OrderStatus.PENDING, mug)), cutoff.plusSeconds(1));
+        createdAt(order(customer, OrderStatus.PENDING, sticker), stale);
+        createdAt(unpaid(order(customer, OrderStatus.CANCELLED, sticker)), stale);
+        Order unreserved = unpaid(order(customer, OrderStatus.PENDING, mug));
+        unreserved.setStockReserved(false);
+        createdAt(unreserved, stale);
+        entityManager.clear();
+
+        assertThat(orderRepository.lockPendingOrdersCreatedBefore(cutoff, 10))
+                .containsExactly(older.getOrderId(), expired.getOrderId());
+        assertThat(orderRepository.lockPendingOrdersCreatedBefore(cutoff, 1)).containsExactly(older.getOrderId());
+    }
+
+    Customer customer(String email) {
+        Customer customer = new Customer();
+        customer.setName("Test Customer");
+        customer.setEmail(email);
+        customer.setMobileNumber("9999999999");
+        customer.setPasswordHash("{noop}secret");
+        return entityManager.persist(customer);
+    }
+
+    Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription("A " + name.toLowerCase());
+        product.setPrice(new BigDecimal("10.00"));
+        product.setPopularity(1);
+        product.setQuantity(10);
+        return entityManager.persist(product);
+    }
+
+    Order order(Customer customer, OrderStatus status, Product... products) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setTotalPrice(new BigDecimal("10.00").multiply(BigDecimal.valueOf(products.length)));
+        order.setPaymentId("pay_" + System.nanoTime());
+        order.setPaymentStatus("PAID");
+        order.setOrderStatus(status);
+        order.setStockReserved(true);
+        for (Product product : products) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setPrice(product.getPrice());
+            order.getOrderItems().add(item);
+        }
+        return entityManager.persist(order);
+    }
+
+    Order unpaid(Order order) {
+        order.setPaymentStatus("CREATED");
+        return order;
+    }
+
+    /**
+     * Backdates an order; created_at is not updatable through the entity
+     */
+    Order createdAt(Order order, Instant createdAt) {
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE orders SET created_at = :createdAt WHERE order_id = :orderId")
+                .setParameter("createdAt", createdAt)
+                .setParameter("orderId", order.getOrderId())
+                .executeUpdate();
+        return order;
+    }
+}
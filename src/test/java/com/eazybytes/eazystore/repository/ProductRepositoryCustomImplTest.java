@@ -0,0 +1,129 @@
+package com.eazybytes.eazystore.repository;
+
+import com.eazybytes.eazystore.config.AuditorAwareImpl;
+import com.eazybytes.eazystore.entity.Customer;
+import com.eazybytes.eazystore.entity.Order;
+import com.eazybytes.eazystore.entity.OrderItem;
+import com.eazybytes.eazystore.entity.OrderStatus;
+import com.eazybytes.eazystore.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(AuditorAwareImpl.class)
+class ProductRepositoryCustomImplTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setName("Test Customer");
+        customer.setEmail("customer@eazystore.com");
+        customer.setMobileNumber("9999999999");
+        customer.setPasswordHash("{noop}secret");
+        entityManager.persist(customer);
+    }
+
+    @Test
+    void reservingStockDecrementsOnlyProductsWithEnoughLeft() {
+        Product plenty = product(10);
+        Product scarce = product(1);
+        entityManager.flush();
+        SortedMap<Long, Integer> quantities = new TreeMap<>(Map.of(
+                plenty.getId(), 4, scarce.getId(), 2, Long.MAX_VALUE, 1));
+
+        int[] updateCounts = productRepository.reserveStockBatch(quantities);
+
+        assertThat(updateCounts).containsExactly(1, 0, 0);
+        assertThat(quantityOf(plenty)).isEqualTo(6);
+        assertThat(quantityOf(scarce)).isEqualTo(1);
+    }
+
+    @Test
+    void reservingTheLastUnitsEmptiesTheStock() {
+        Product product = product(3);
+        entityManager.flush();
+
+        assertThat(productRepository.reserveStockBatch(new TreeMap<>(Map.of(product.getId(), 3))))
+                .containsExactly(1);
+        assertThat(quantityOf(product)).isZero();
+    }
+
+    @Test
+    void releasingCancelledOrdersSkipsOrdersWithoutReservedStock() {
+        Product product = product(10);
+        Order reserved = order(product, 3, true);
+        Order legacy = order(product, 4, false);
+        entityManager.flush();
+
+        int updated = productRepository.releaseStockOfOrders(List.of(reserved.getOrderId(), legacy.getOrderId()));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(quantityOf(product)).isEqualTo(13);
+    }
+
+    @Test
+    void releasingOnlyLegacyOrdersUpdatesNothing() {
+        Product product = product(10);
+        Order legacy = order(product, 4, false);
+        entityManager.flush();
+
+        assertThat(productRepository.releaseStockOfOrders(List.of(legacy.getOrderId()))).isZero();
+        assertThat(quantityOf(product)).isEqualTo(10);
+    }
+
+    Product product(int quantity) {
+        Product product = new Product();
+        product.setName("Sticker");
+        product.setDescription("A sticker");
+        product.setPrice(new BigDecimal("10.00"));
+        product.setPopularity(1);
+        product.setQuantity(quantity);
+        return entityManager.persist(product);
+    }
+
+    Order order(Product product, int quantity, boolean stockReserved) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setTotalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        order.setPaymentId("pay_" + System.nanoTime());
+        order.setPaymentStatus("PAID");
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setStockReserved(stockReserved);
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setPrice(product.getPrice());
+        order.getOrderItems().add(item);
+        return entityManager.persist(order);
+    }
+
+    int quantityOf(Product product) {
+        entityManager.clear();
+        return entityManager.find(Product.class, product.getId()).getQuantity();
+    }
+}
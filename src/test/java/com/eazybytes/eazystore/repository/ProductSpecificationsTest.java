@@ -0,0 +1,43 @@
+package com.eazybytes.eazystore.repository;
+
+import com.eazybytes.eazystore.dto.ProductSortField;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
+import com.eazybytes.eazystore.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductSpecificationsTest {
+
+    @Test
+    void cursorOfEverySortFieldIsAccepted() {
+        assertThat(ProductSpecifications.after(new KeysetCursor("12", 3L), ProductSortField.POPULARITY,
+                Sort.Direction.DESC)).isNotNull();
+        assertThat(ProductSpecifications.after(new KeysetCursor("12.50", 3L), ProductSortField.PRICE,
+                Sort.Direction.ASC)).isNotNull();
+        assertThat(ProductSpecifications.after(new KeysetCursor("2025-01-02T10:00:00Z", 3L),
+                ProductSortField.CREATED_AT, Sort.Direction.ASC)).isNotNull();
+    }
+
+    @Test
+    void cursorOfAnotherSortFieldIsAnInvalidRequest() {
+        KeysetCursor priceCursor = new KeysetCursor("12.50", 3L);
+
+        assertThatThrownBy(() -> ProductSpecifications.after(priceCursor, ProductSortField.CREATED_AT,
+                Sort.Direction.ASC))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Invalid cursor: " + priceCursor.encode());
+        assertThatThrownBy(() -> ProductSpecifications.after(priceCursor, ProductSortField.POPULARITY,
+                Sort.Direction.DESC))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void handEditedSortValueIsAnInvalidRequest() {
+        assertThatThrownBy(() -> ProductSpecifications.after(new KeysetCursor("cheap", 3L), ProductSortField.PRICE,
+                Sort.Direction.ASC))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,55 @@
+package com.eazybytes.eazystore.scheduler;
+
+import com.eazybytes.eazystore.entity.InventoryHold;
+import com.eazybytes.eazystore.service.IInventoryHoldService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InventoryHoldReleaserTest {
+
+    @Test
+    void stopWaitsForTheReleaseInProgressWithoutInterruptingIt() throws Exception {
+        IInventoryHoldService inventoryHoldService = mock(IInventoryHoldService.class);
+        CountDownLatch releasing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(inventoryHoldService.releaseHolds(anyCollection())).thenAnswer(invocation -> {
+            releasing.countDown();
+            proceed.await(5, TimeUnit.SECONDS);
+            interrupted.set(Thread.currentThread().isInterrupted());
+            return 1;
+        });
+        InventoryHoldReleaser releaser = new InventoryHoldReleaser(inventoryHoldService, new SimpleMeterRegistry(),
+                200, 50);
+        releaser.start();
+        releaser.schedule(hold(1L, Instant.now().minusSeconds(1)));
+        assertThat(releasing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> stopping = CompletableFuture.runAsync(releaser::stop);
+        Thread.sleep(200);
+        assertThat(stopping).isNotDone();
+        proceed.countDown();
+        stopping.get(5, TimeUnit.SECONDS);
+
+        assertThat(interrupted).isFalse();
+        assertThat(releaser.isRunning()).isFalse();
+    }
+
+    private static InventoryHold hold(Long holdId, Instant expiresAt) {
+        InventoryHold hold = new InventoryHold();
+        hold.setHoldId(holdId);
+        hold.setExpiresAt(expiresAt);
+        return hold;
+    }
+}
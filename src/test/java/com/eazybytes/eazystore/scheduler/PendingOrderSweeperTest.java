@@ -0,0 +1,52 @@
+package com.eazybytes.eazystore.scheduler;
+
+import com.eazybytes.eazystore.service.IOrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PendingOrderSweeperTest {
+
+    private final IOrderService orderService = mock(IOrderService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sweepsChunksUntilOneComesBackShort() {
+        when(orderService.cancelExpiredPendingOrders(any(), eq(10))).thenReturn(10, 10, 3);
+        PendingOrderSweeper sweeper = new PendingOrderSweeper(orderService, meterRegistry, Duration.ofMinutes(30),
+                10, 50);
+
+        Instant before = Instant.now().minus(Duration.ofMinutes(30));
+        sweeper.sweep();
+        Instant after = Instant.now().minus(Duration.ofMinutes(30));
+
+        ArgumentCaptor<Instant> createdBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(orderService, times(3)).cancelExpiredPendingOrders(createdBefore.capture(), eq(10));
+        assertThat(createdBefore.getAllValues()).containsOnly(createdBefore.getValue());
+        assertThat(createdBefore.getValue()).isBetween(before, after);
+        assertThat(meterRegistry.counter("orders.pending.sweeper.cancelled").count()).isEqualTo(23);
+    }
+
+    @Test
+    void stopsAfterTheChunkLimitAndLeavesTheRestForTheNextRun() {
+        when(orderService.cancelExpiredPendingOrders(any(), eq(10))).thenReturn(10);
+        PendingOrderSweeper sweeper = new PendingOrderSweeper(orderService, meterRegistry, Duration.ofMinutes(30),
+                10, 4);
+
+        sweeper.sweep();
+
+        verify(orderService, times(4)).cancelExpiredPendingOrders(any(), eq(10));
+        assertThat(meterRegistry.counter("orders.pending.sweeper.cancelled").count()).isEqualTo(40);
+    }
+}
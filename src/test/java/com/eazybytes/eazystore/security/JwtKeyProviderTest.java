@@ -0,0 +1,67 @@
+package com.eazybytes.eazystore.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtKeyProviderTest {
+
+    private static final String SECRET = "jxgEQeXHuPq8VdbyYFNkANdudQ53YUn4";
+    private static final String ROTATED_SECRET = "Q8sVx2mLk4NcRt7WpZa9BdFh3JyUe6Go";
+
+    @TempDir
+    Path secretDir;
+
+    @Test
+    void rotatesTheKeyWhenTheSecretFileChanges() throws IOException {
+        Path secretFile = Files.writeString(secretDir.resolve("jwt-secret"), SECRET + "\n");
+        JwtKeyProvider provider = new JwtKeyProvider(
+                new MockEnvironment().withProperty("eazystore.jwt.secret-file", secretFile.toString()));
+        AtomicInteger rotations = new AtomicInteger();
+        provider.onRotation(keys -> rotations.incrementAndGet());
+        SecretKey original = provider.getSigningKey();
+
+        provider.reload();
+        assertThat(provider.getSigningKey()).isSameAs(original);
+
+        Files.writeString(secretFile, ROTATED_SECRET);
+        provider.reload();
+
+        assertThat(provider.getSigningKey().getEncoded()).isEqualTo(ROTATED_SECRET.getBytes());
+        assertThat(rotations).hasValue(1);
+    }
+
+    @Test
+    void keepsTheKeyWhenTheSecretFileBecomesUnusable() throws IOException {
+        Path secretFile = Files.writeString(secretDir.resolve("jwt-secret"), SECRET);
+        JwtKeyProvider provider = new JwtKeyProvider(
+                new MockEnvironment().withProperty("eazystore.jwt.secret-file", secretFile.toString()));
+        SecretKey original = provider.getSigningKey();
+
+        Files.writeString(secretFile, "too-short");
+        provider.reload();
+        Files.delete(secretFile);
+        provider.reload();
+
+        assertThat(provider.getSigningKey()).isSameAs(original);
+    }
+
+    @Test
+    void readsTheSecretFromTheEnvironmentWithoutAFile() {
+        JwtKeyProvider provider = new JwtKeyProvider(new MockEnvironment().withProperty("JWT_SECRET", SECRET));
+        SecretKey original = provider.getSigningKey();
+
+        provider.reload();
+
+        assertThat(original.getEncoded()).isEqualTo(SECRET.getBytes());
+        assertThat(provider.getSigningKey()).isSameAs(original);
+    }
+}
@@ -0,0 +1,66 @@
+package com.eazybytes.eazystore.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublicPathMatcherTest {
+
+    private static final List<String> EXTRA_PATTERNS = List.of(
+            "/api/v1/assets/*.css",
+            "/api/v1/files/**/raw",
+            "/api/v1/items/{id}",
+            "/api/v1/icons/?.png",
+            "/api/v1/static/page-1");
+
+    private static final List<String> REQUEST_PATHS = List.of(
+            "/api/v1/auth/login", "/api/v1/auth", "/api/v1/auth/", "/api/v1/authx",
+            "/api/v1/products", "/api/v1/products/", "/api/v1/products/42", "/api/v1/products/42/images/a.jpg",
+            "/api/v1/productsX", "/api/v1/product", "/API/v1/products",
+            "/api/v1/admin/products/all", "/api/v1/admin/products/all/", "/api/v1/admin/products",
+            "/api/v1/admin/orders", "/api/v1/orders/history", "/api/v1/contacts",
+            "/csrf-token", "/api/v1/csrf-token", "/error", "/error/", "/errors",
+            "/actuator/health", "/actuator/health/db", "/actuator/info", "/actuator/env",
+            "/swagger-ui.html", "/swagger-ui/index.html", "/v3/api-docs", "/v3/api-docs/swagger-config",
+            "/api/v1/assets/site.css", "/api/v1/assets/site.js", "/api/v1/assets/a/site.css",
+            "/api/v1/files/raw", "/api/v1/files/a/b/raw", "/api/v1/files/a/b/raw/c",
+            "/api/v1/items/7", "/api/v1/items/7/8", "/api/v1/items",
+            "/api/v1/icons/a.png", "/api/v1/icons/ab.png",
+            "/api/v1/static/page-1", "/api/v1/static/page-10",
+            "/", "//api/v1/products");
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    @Test
+    void agreesWithAntPathMatcherOnTheConfiguredPaths() {
+        assertParity(new PublicPathConfig().publicPaths());
+    }
+
+    @Test
+    void agreesWithAntPathMatcherOnWildcardPatterns() {
+        List<String> publicPaths = new ArrayList<>(new PublicPathConfig().publicPaths());
+        publicPaths.addAll(EXTRA_PATTERNS);
+        assertParity(publicPaths);
+    }
+
+    @Test
+    void rejectsPathsThatAreNotAbsolute() {
+        PublicPathMatcher matcher = new PublicPathMatcher(new PublicPathConfig().publicPaths());
+
+        assertThat(matcher.matches(null)).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+        assertThat(matcher.matches("api/v1/products")).isFalse();
+    }
+
+    private void assertParity(List<String> publicPaths) {
+        PublicPathMatcher matcher = new PublicPathMatcher(publicPaths);
+        for (String path : REQUEST_PATHS) {
+            boolean expected = publicPaths.stream().anyMatch(publicPath -> antPathMatcher.match(publicPath, path));
+            assertThat(matcher.matches(path)).as(path).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.entity.InventoryHold;
+import com.eazybytes.eazystore.entity.InventoryHoldStatus;
+import com.eazybytes.eazystore.repository.InventoryHoldRepository;
+import com.eazybytes.eazystore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InventoryHoldServiceImplTest {
+
+    private static final String RAZORPAY_ORDER_ID = "order_123";
+    private static final Long CUSTOMER_ID = 7L;
+
+    private InventoryHoldRepository inventoryHoldRepository;
+    private ProductRepository productRepository;
+    private InventoryHoldServiceImpl inventoryHoldService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryHoldRepository = mock(InventoryHoldRepository.class);
+        productRepository = mock(ProductRepository.class);
+        ProfileServiceImpl profileService = mock(ProfileServiceImpl.class);
+        when(profileService.getAuthenticatedCustomerId()).thenReturn(CUSTOMER_ID);
+        inventoryHoldService = new InventoryHoldServiceImpl(inventoryHoldRepository, productRepository,
+                profileService, Duration.ofMinutes(15));
+    }
+
+    @Test
+    void heldHoldWithTheSameItemsIsConverted() {
+        holdFound(hold(InventoryHoldStatus.HELD, CUSTOMER_ID));
+        when(inventoryHoldRepository.updateStatuses(List.of(1L), InventoryHoldStatus.HELD,
+                InventoryHoldStatus.CONVERTED, "customer@eazystore.com")).thenReturn(1);
+
+        assertThat(inventoryHoldService.convertHold(RAZORPAY_ORDER_ID, new TreeMap<>(Map.of(10L, 2, 11L, 1))))
+                .isTrue();
+        verify(productRepository, never()).releaseStockOfHolds(anyCollection());
+    }
+
+    @Test
+    void holdReleasedConcurrentlyIsNotConverted() {
+        holdFound(hold(InventoryHoldStatus.HELD, CUSTOMER_ID));
+        when(inventoryHoldRepository.updateStatuses(anyCollection(), any(), any(), anyString())).thenReturn(0);
+
+        assertThat(inventoryHoldService.convertHold(RAZORPAY_ORDER_ID, new TreeMap<>(Map.of(10L, 2, 11L, 1))))
+                .isFalse();
+    }
+
+    @Test
+    void holdWithDifferentItemsIsReleasedInsteadOfConverted() {
+        holdFound(hold(InventoryHoldStatus.HELD, CUSTOMER_ID));
+        when(inventoryHoldRepository.lockHeldHolds(List.of(1L))).thenReturn(List.of(1L));
+
+        assertThat(inventoryHoldService.convertHold(RAZORPAY_ORDER_ID, new TreeMap<>(Map.of(10L, 3, 11L, 1))))
+                .isFalse();
+        verify(inventoryHoldRepository).updateStatuses(List.of(1L), InventoryHoldStatus.HELD,
+                InventoryHoldStatus.RELEASED, "SYSTEM");
+        verify(inventoryHoldRepository, never()).updateStatuses(anyCollection(), any(),
+                eq(InventoryHoldStatus.CONVERTED), anyString());
+        verify(productRepository).releaseStockOfHolds(List.of(1L));
+    }
+
+    @Test
+    void missingReleasedOrForeignHoldsAreNotConverted() {
+        TreeMap<Long, Integer> quantities = new TreeMap<>(Map.of(10L, 2, 11L, 1));
+        assertThat(inventoryHoldService.convertHold(null, quantities)).isFalse();
+
+        when(inventoryHoldRepository.findByRazorpayOrderId(RAZORPAY_ORDER_ID)).thenReturn(Optional.empty());
+        assertThat(inventoryHoldService.convertHold(RAZORPAY_ORDER_ID, quantities)).isFalse();
+
+        holdFound(hold(InventoryHoldStatus.RELEASED, CUSTOMER_ID));
+        assertThat(inventoryHoldService.convertHold(RAZORPAY_ORDER_ID, quantities)).isFalse();
+
+        holdFound(hold(InventoryHoldStatus.HELD, 8L));
+        assertThat(inventoryHoldService.convertHold(RAZORPAY_ORDER_ID, quantities)).isFalse();
+
+        verify(inventoryHoldRepository, never()).updateStatuses(anyCollection(), any(), any(), anyString());
+        verify(productRepository, never()).releaseStockOfHolds(anyCollection());
+    }
+
+    @Test
+    void releaseOnlyPutsBackTheStockOfHoldsStillHeld() {
+        when(inventoryHoldRepository.lockHeldHolds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+
+        assertThat(inventoryHoldService.releaseHolds(List.of(1L, 2L, 3L))).isEqualTo(2);
+        verify(inventoryHoldRepository).updateStatuses(List.of(1L, 3L), InventoryHoldStatus.HELD,
+                InventoryHoldStatus.RELEASED, "SYSTEM");
+        verify(productRepository).releaseStockOfHolds(List.of(1L, 3L));
+    }
+
+    @Test
+    void releaseOfExpiredHoldsWithNothingLockedTouchesNoStock() {
+        Instant now = Instant.now();
+        when(inventoryHoldRepository.lockExpiredHolds(now, 100)).thenReturn(List.of());
+
+        assertThat(inventoryHoldService.releaseExpiredHolds(now, 100)).isZero();
+        verify(inventoryHoldRepository, never()).updateStatuses(anyCollection(), any(), any(), anyString());
+        verify(productRepository, never()).releaseStockOfHolds(anyCollection());
+    }
+
+    private void holdFound(InventoryHold hold) {
+        when(inventoryHoldRepository.findByRazorpayOrderId(RAZORPAY_ORDER_ID)).thenReturn(Optional.of(hold));
+    }
+
+    private static InventoryHold hold(InventoryHoldStatus status, Long customerId) {
+        InventoryHold hold = new InventoryHold();
+        hold.setHoldId(1L);
+        hold.setRazorpayOrderId(RAZORPAY_ORDER_ID);
+        hold.setCustomerId(customerId);
+        hold.setStatus(status);
+        hold.setExpiresAt(Instant.now().plusSeconds(600));
+        hold.setCreatedBy("customer@eazystore.com");
+        hold.getQuantities().putAll(Map.of(11L, 1, 10L, 2));
+        return hold;
+    }
+}
@@ -0,0 +1,112 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.dto.OrderCreationResult;
+import com.eazybytes.eazystore.dto.OrderItemDto;
+import com.eazybytes.eazystore.dto.OrderRequestDto;
+import com.eazybytes.eazystore.entity.Order;
+import com.eazybytes.eazystore.exception.IdempotencyConflictException;
+import com.eazybytes.eazystore.repository.OrderRepository;
+import com.eazybytes.eazystore.repository.projection.OrderFingerprint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderIdempotencyServiceImplTest {
+
+    private static final OrderRequestDto REQUEST = request("pay_1", "30.00",
+            new OrderItemDto(1L, 1, new BigDecimal("10.00")), new OrderItemDto(2L, 2, new BigDecimal("10")));
+
+    private OrderRepository orderRepository;
+    private OrderIdempotencyServiceImpl idempotencyService;
+    private final AtomicInteger creations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        ProfileServiceImpl profileService = mock(ProfileServiceImpl.class);
+        when(profileService.getAuthenticatedCustomerId()).thenReturn(7L);
+        idempotencyService = new OrderIdempotencyServiceImpl(orderRepository, profileService,
+                new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+    }
+
+    @Test
+    void replaysTheSameRequestWithoutCreatingAnotherOrder() {
+        OrderCreationResult first = idempotencyService.createOnce("key-1", REQUEST, orderWithId(11L));
+        OrderRequestDto reordered = request("pay_1", "30",
+                new OrderItemDto(2L, 2, new BigDecimal("10.00")), new OrderItemDto(1L, 1, new BigDecimal("10")));
+        OrderCreationResult second = idempotencyService.createOnce("key-1", reordered, orderWithId(12L));
+
+        assertThat(first).isEqualTo(OrderCreationResult.created(11L));
+        assertThat(second).isEqualTo(OrderCreationResult.replayed(11L));
+        assertThat(creations).hasValue(1);
+    }
+
+    @Test
+    void rejectsTheSameKeyWithADifferentBody() {
+        idempotencyService.createOnce("key-1", REQUEST, orderWithId(11L));
+        OrderRequestDto changed = request("pay_1", "40.00",
+                new OrderItemDto(1L, 2, new BigDecimal("10.00")), new OrderItemDto(2L, 2, new BigDecimal("10")));
+
+        assertThatThrownBy(() -> idempotencyService.createOnce("key-1", changed, orderWithId(12L)))
+                .isInstanceOf(IdempotencyConflictException.class);
+        assertThat(creations).hasValue(1);
+    }
+
+    @Test
+    void checksOrdersFoundByPaymentIdAgainstTheirStoredFingerprint() {
+        when(orderRepository.findOrderFingerprintsByPaymentId(7L, "pay_1"))
+                .thenReturn(List.of(new OrderFingerprint(11L, REQUEST.fingerprint())));
+        OrderRequestDto changed = request("pay_1", "10.00", new OrderItemDto(1L, 1, new BigDecimal("10.00")));
+
+        assertThat(idempotencyService.createOnce(null, REQUEST, orderWithId(12L)))
+                .isEqualTo(OrderCreationResult.replayed(11L));
+        assertThatThrownBy(() -> idempotencyService.createOnce("key-2", changed, orderWithId(12L)))
+                .isInstanceOf(IdempotencyConflictException.class);
+        assertThat(creations).hasValue(0);
+    }
+
+    @Test
+    void replaysOrdersCreatedBeforeRequestsWereFingerprinted() {
+        when(orderRepository.findOrderFingerprintsByPaymentId(7L, "pay_1"))
+                .thenReturn(List.of(new OrderFingerprint(11L, null)));
+
+        assertThat(idempotencyService.createOnce(null, REQUEST, orderWithId(12L)))
+                .isEqualTo(OrderCreationResult.replayed(11L));
+    }
+
+    @Test
+    void rejectsAPaymentThatBelongsToAnotherCustomersOrder() {
+        Supplier<Order> duplicatePayment = () -> {
+            throw new DataIntegrityViolationException("uk_orders_payment_id");
+        };
+
+        assertThatThrownBy(() -> idempotencyService.createOnce(null, REQUEST, duplicatePayment))
+                .isInstanceOf(IdempotencyConflictException.class)
+                .hasMessageContaining("pay_1");
+    }
+
+    private Supplier<Order> orderWithId(Long orderId) {
+        return () -> {
+            creations.incrementAndGet();
+            Order order = new Order();
+            order.setOrderId(orderId);
+            return order;
+        };
+    }
+
+    private static OrderRequestDto request(String paymentId, String total, OrderItemDto... items) {
+        return new OrderRequestDto(new BigDecimal(total), paymentId, "PAID", List.of(items));
+    }
+}
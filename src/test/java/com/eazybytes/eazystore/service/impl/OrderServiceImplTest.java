@@ -0,0 +1,214 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.dto.BulkOrderStatusRequestDto;
+import com.eazybytes.eazystore.dto.BulkOrderStatusResultDto;
+import com.eazybytes.eazystore.dto.OrderItemDto;
+import com.eazybytes.eazystore.dto.OrderRequestDto;
+import com.eazybytes.eazystore.dto.OrderStatusChangeResult;
+import com.eazybytes.eazystore.entity.OrderStatus;
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
+import com.eazybytes.eazystore.exception.ResourceNotFoundException;
+import com.eazybytes.eazystore.exception.StockReservationException;
+import com.eazybytes.eazystore.repository.OrderRepository;
+import com.eazybytes.eazystore.repository.ProductRepository;
+import com.eazybytes.eazystore.service.IInventoryHoldService;
+import com.eazybytes.eazystore.service.IUnfulfilledPaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceImplTest {
+
+    private static final String ADMIN = "admin@eazystore.com";
+
+    private OrderRepository orderRepository;
+    private ProductRepository productRepository;
+    private IInventoryHoldService inventoryHoldService;
+    private IUnfulfilledPaymentService unfulfilledPaymentService;
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        productRepository = mock(ProductRepository.class);
+        inventoryHoldService = mock(IInventoryHoldService.class);
+        unfulfilledPaymentService = mock(IUnfulfilledPaymentService.class);
+        orderService = new OrderServiceImpl(orderRepository, productRepository, mock(ProfileServiceImpl.class),
+                inventoryHoldService, unfulfilledPaymentService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(ADMIN, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bulkStatusChangeReportsTheOutcomeOfEveryOrder() {
+        Map<Long, OrderStatus> locked = new LinkedHashMap<>();
+        locked.put(1L, OrderStatus.PENDING);
+        locked.put(2L, OrderStatus.CANCELLED);
+        locked.put(3L, OrderStatus.COMPLETED);
+        when(orderRepository.lockOrderStatuses(List.of(1L, 2L, 3L, 4L))).thenReturn(locked);
+
+        BulkOrderStatusResultDto result = orderService.updateOrderStatuses(
+                new BulkOrderStatusRequestDto(List.of(1L, 2L, 3L, 4L), null, OrderStatus.CANCELLED));
+
+        assertThat(result.results()).containsExactly(
+                new OrderStatusChangeResult(1L, OrderStatus.PENDING, OrderStatusChangeResult.Outcome.UPDATED),
+                new OrderStatusChangeResult(2L, OrderStatus.CANCELLED, OrderStatusChangeResult.Outcome.UNCHANGED),
+                new OrderStatusChangeResult(3L, OrderStatus.COMPLETED,
+                        OrderStatusChangeResult.Outcome.INVALID_TRANSITION),
+                new OrderStatusChangeResult(4L, null, OrderStatusChangeResult.Outcome.NOT_FOUND));
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.unchanged()).isEqualTo(1);
+        assertThat(result.invalidTransitions()).isEqualTo(1);
+        assertThat(result.notFound()).isEqualTo(1);
+        verify(orderRepository).updateOrderStatuses(List.of(1L), OrderStatus.CANCELLED, ADMIN);
+        verify(productRepository).releaseStockOfOrders(List.of(1L));
+    }
+
+    @Test
+    void bulkStatusChangeReleasesStockOnlyWhenCancelling() {
+        when(orderRepository.lockOrderStatuses(List.of(1L))).thenReturn(Map.of(1L, OrderStatus.PENDING));
+
+        orderService.updateOrderStatuses(new BulkOrderStatusRequestDto(List.of(1L), null, OrderStatus.CONFIRMED));
+
+        verify(orderRepository).updateOrderStatuses(List.of(1L), OrderStatus.CONFIRMED, ADMIN);
+        verify(productRepository, never()).releaseStockOfOrders(anyCollection());
+    }
+
+    @Test
+    void bulkStatusChangeWithoutEligibleOrdersUpdatesNothing() {
+        when(orderRepository.lockOrderStatuses(List.of(1L))).thenReturn(Map.of(1L, OrderStatus.CANCELLED));
+
+        BulkOrderStatusResultDto result = orderService.updateOrderStatuses(
+                new BulkOrderStatusRequestDto(List.of(1L), null, OrderStatus.PROCESSING));
+
+        assertThat(result.invalidTransitions()).isEqualTo(1);
+        verify(orderRepository, never()).updateOrderStatuses(anyCollection(), any(), any());
+        verify(productRepository, never()).releaseStockOfOrders(anyCollection());
+    }
+
+    @Test
+    void bulkStatusChangeNeedsEitherOrderIdsOrAFilter() {
+        assertThatThrownBy(() -> orderService.updateOrderStatuses(
+                new BulkOrderStatusRequestDto(null, null, OrderStatus.CONFIRMED)))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void singleStatusChangeOfAnUnknownOrderIsNotFound() {
+        when(orderRepository.lockOrderStatuses(List.of(9L))).thenReturn(Map.of());
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(9L, "confirmed"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void singleStatusChangeRejectsAnIllegalTransition() {
+        when(orderRepository.lockOrderStatuses(List.of(1L))).thenReturn(Map.of(1L, OrderStatus.COMPLETED));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, "PENDING"))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("cannot change from COMPLETED to PENDING");
+        verify(orderRepository, never()).updateOrderStatuses(anyCollection(), any(), any());
+    }
+
+    @Test
+    void singleStatusChangeToTheCurrentStatusIsANoOp() {
+        when(orderRepository.lockOrderStatuses(List.of(1L))).thenReturn(Map.of(1L, OrderStatus.CONFIRMED));
+
+        orderService.updateOrderStatus(1L, "CONFIRMED");
+
+        verify(orderRepository, never()).updateOrderStatuses(anyCollection(), any(), any());
+    }
+
+    @Test
+    void paymentWithoutStockIsRecordedForARefund() {
+        OrderRequestDto orderRequest = new OrderRequestDto(new BigDecimal("20.00"), "pay_1", "PAID",
+                List.of(new OrderItemDto(1L, 2, new BigDecimal("10.00"))));
+        Product product = new Product();
+        product.setId(1L);
+        product.setQuantity(1);
+        when(inventoryHoldService.convertHold(any(), any())).thenReturn(false);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+
+        assertThatThrownBy(() -> orderService.createOrderWithPayment(orderRequest, "order_1", "pay_1", "PAID"))
+                .isInstanceOf(StockReservationException.class);
+
+        verify(unfulfilledPaymentService).recordPayment(eq("pay_1"), eq("order_1"), eq(new BigDecimal("20.00")),
+                anyString());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void paymentCoveredByItsHoldIsNotRecorded() {
+        OrderRequestDto orderRequest = new OrderRequestDto(new BigDecimal("20.00"), "pay_1", "PAID",
+                List.of(new OrderItemDto(1L, 2, new BigDecimal("10.00"))));
+        Product product = new Product();
+        product.setId(1L);
+        when(inventoryHoldService.convertHold(any(), any())).thenReturn(true);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        when(orderRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.createOrderWithPayment(orderRequest, "order_1", "pay_1", "PAID");
+
+        verify(unfulfilledPaymentService, never()).recordPayment(any(), any(), any(), any());
+        verify(productRepository, never()).reserveStockBatch(any());
+    }
+
+    @Test
+    void paymentRecordedForARefundIsNotFulfilledByARetry() {
+        OrderRequestDto orderRequest = new OrderRequestDto(new BigDecimal("20.00"), "pay_1", "PAID",
+                List.of(new OrderItemDto(1L, 2, new BigDecimal("10.00"))));
+        Product product = new Product();
+        product.setId(1L);
+        product.setQuantity(1);
+        AtomicBoolean recorded = new AtomicBoolean();
+        doAnswer(invocation -> {
+            recorded.set(true);
+            return null;
+        }).when(unfulfilledPaymentService).recordPayment(any(), any(), any(), any());
+        when(unfulfilledPaymentService.isRecorded("pay_1")).thenAnswer(invocation -> recorded.get());
+        when(inventoryHoldService.convertHold(any(), any())).thenReturn(false);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        assertThatThrownBy(() -> orderService.createOrderWithPayment(orderRequest, "order_1", "pay_1", "PAID"))
+                .isInstanceOf(StockReservationException.class);
+
+        // Restocked before the client retries the verification
+        product.setQuantity(5);
+        when(productRepository.reserveStockBatch(any())).thenReturn(new int[] {1});
+
+        assertThatThrownBy(() -> orderService.createOrderWithPayment(orderRequest, "order_1", "pay_1", "PAID"))
+                .isInstanceOf(StockReservationException.class)
+                .hasMessageContaining("already recorded for a refund");
+        verify(unfulfilledPaymentService).recordPayment(any(), any(), any(), any());
+        verify(inventoryHoldService).convertHold(any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,70 @@
+package com.eazybytes.eazystore.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductImageCacheTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void servesCachedBytesAfterTheFirstRead() throws IOException {
+        ProductImageCache cache = new ProductImageCache(meterRegistry, true, 1024, 100);
+        Path image = Files.write(uploadDir.resolve("photo.png"), new byte[64]);
+
+        assertThat(cache.get(image).toByteArray()).hasSize(64);
+        Files.delete(image);
+
+        assertThat(cache.get(image)).isNotNull();
+        assertThat(hits()).isEqualTo(1);
+    }
+
+    @Test
+    void remembersFilesTooLargeToCache() throws IOException {
+        ProductImageCache cache = new ProductImageCache(meterRegistry, true, 1024, 100);
+        Path image = Files.write(uploadDir.resolve("large.png"), new byte[101]);
+
+        assertThat(cache.get(image)).isNull();
+        assertThat(cache.get(image)).isNull();
+
+        assertThat(hits()).isEqualTo(1);
+    }
+
+    @Test
+    void acceptsEntryLimitsAboveTheLargestBuffer() throws IOException {
+        ProductImageCache cache = new ProductImageCache(meterRegistry, true, 1024, Long.MAX_VALUE);
+        Path image = Files.write(uploadDir.resolve("photo.png"), new byte[64]);
+
+        assertThat(cache.get(image)).isNotNull();
+    }
+
+    @Test
+    void doesNotCacheBeyondTheDirectMemoryBudget() throws IOException {
+        ProductImageCache cache = new ProductImageCache(meterRegistry, true, 100, 100);
+        Path first = Files.write(uploadDir.resolve("first.png"), new byte[100]);
+        Path second = Files.write(uploadDir.resolve("second.png"), new byte[100]);
+        Path third = Files.write(uploadDir.resolve("third.png"), new byte[100]);
+
+        ProductImageCache.CachedImage firstImage = cache.get(first);
+        ProductImageCache.CachedImage secondImage = cache.get(second);
+
+        // Both buffers are still reachable, so a third allocation would exceed the budget
+        assertThat(cache.get(third)).isNull();
+        assertThat(firstImage.toByteArray()).hasSize(100);
+        assertThat(secondImage.toByteArray()).hasSize(100);
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count();
+    }
+}
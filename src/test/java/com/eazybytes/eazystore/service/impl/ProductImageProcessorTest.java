@@ -0,0 +1,76 @@
+package com.eazybytes.eazystore.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductImageProcessorTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void generatesVariantsNarrowerThanTheOriginal() throws IOException {
+        Path original = image("photo.png", 600);
+        ProductImageProcessor processor = new ProductImageProcessor(new SyncTaskExecutor(),
+                new Integer[]{128, 512, 1024}, meterRegistry);
+
+        assertThat(processor.generateVariantsAsync(original)).isTrue();
+
+        assertThat(uploadDir.resolve("photo-w128.png")).isRegularFile();
+        assertThat(uploadDir.resolve("photo-w512.png")).isRegularFile();
+        assertThat(uploadDir.resolve("photo-w1024.png")).doesNotExist();
+        assertThat(processor.variantFor(original, 200)).isEqualTo(uploadDir.resolve("photo-w512.png"));
+        assertThat(processor.variantFor(original, 2000)).isNull();
+    }
+
+    @Test
+    void leavesNoVariantBehindWhenTheOriginalIsDeletedFirst() throws IOException {
+        Path original = image("photo.png", 600);
+        // Deletes the original as soon as the job starts, as a concurrent product deletion would
+        ProductImageProcessor processor = new ProductImageProcessor(task -> {
+            try {
+                Files.delete(original);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            task.run();
+        }, new Integer[]{128}, meterRegistry);
+
+        processor.generateVariantsAsync(original);
+
+        try (var files = Files.list(uploadDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void countsRejectedJobs() throws IOException {
+        Path original = image("photo.png", 600);
+        ProductImageProcessor processor = new ProductImageProcessor(task -> {
+            throw new TaskRejectedException("queue full");
+        }, new Integer[]{128}, meterRegistry);
+
+        assertThat(processor.generateVariantsAsync(original)).isFalse();
+
+        assertThat(meterRegistry.counter("images.variants.rejected").count()).isEqualTo(1);
+    }
+
+    private Path image(String name, int width) throws IOException {
+        Path path = uploadDir.resolve(name);
+        ImageIO.write(new BufferedImage(width, width / 2, BufferedImage.TYPE_INT_ARGB), "png", path.toFile());
+        return path;
+    }
+}
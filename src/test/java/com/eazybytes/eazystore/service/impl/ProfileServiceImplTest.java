@@ -0,0 +1,72 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.dto.CustomerProfileDto;
+import com.eazybytes.eazystore.dto.ProfileResponseDto;
+import com.eazybytes.eazystore.entity.Customer;
+import com.eazybytes.eazystore.repository.CustomerRepository;
+import com.eazybytes.eazystore.security.CustomerPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfileServiceImplTest {
+
+    private CustomerRepository customerRepository;
+    private ConcurrentMapCacheManager cacheManager;
+    private ProfileServiceImpl profileService;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        cacheManager = new ConcurrentMapCacheManager("customers");
+        profileService = new ProfileServiceImpl(customerRepository, cacheManager);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(
+                new CustomerPrincipal(7L, "jane@example.com", "Jane"), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachesTheProfileWithoutCredentials() {
+        Customer customer = new Customer();
+        customer.setCustomerId(7L);
+        customer.setName("Jane");
+        customer.setEmail("jane@example.com");
+        customer.setMobileNumber("9999999999");
+        customer.setPasswordHash("{bcrypt}secret");
+        when(customerRepository.findById(7L)).thenReturn(Optional.of(customer));
+
+        ProfileResponseDto first = profileService.getProfile();
+        ProfileResponseDto second = profileService.getProfile();
+
+        assertThat(first.getEmail()).isEqualTo("jane@example.com");
+        assertThat(second.getName()).isEqualTo("Jane");
+        verify(customerRepository, times(1)).findById(7L);
+        assertThat(cacheManager.getCache("customers").get(7L).get()).isInstanceOf(CustomerProfileDto.class);
+    }
+
+    @Test
+    void missingCustomerIsNotWrappedByTheCache() {
+        when(customerRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> profileService.getProfile())
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(cacheManager.getCache("customers").get(7L)).isNull();
+    }
+}
@@ -0,0 +1,101 @@
+package com.eazybytes.eazystore.service.impl;
+
+import com.eazybytes.eazystore.dto.OrderItemDto;
+import com.eazybytes.eazystore.dto.StockReservationResult;
+import com.eazybytes.eazystore.entity.Product;
+import com.eazybytes.eazystore.exception.InvalidRequestException;
+import com.eazybytes.eazystore.exception.StockReservationException;
+import com.eazybytes.eazystore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockReservationsTest {
+
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+    }
+
+    @Test
+    void quantitiesAreSummedPerProductInIdOrder() {
+        SortedMap<Long, Integer> quantities = StockReservations.quantitiesOf(List.of(
+                item(3L, 1), item(1L, 2), item(3L, 4)));
+
+        assertThat(quantities).containsExactly(Map.entry(1L, 2), Map.entry(3L, 5));
+    }
+
+    @Test
+    void itemsWithoutAProductOrAPositiveQuantityAreRejected() {
+        assertThatThrownBy(() -> StockReservations.quantitiesOf(List.of()))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> StockReservations.quantitiesOf(List.of(item(1L, 0))))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> StockReservations.quantitiesOf(List.of(item(null, 1))))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void reservesEveryProductWithOneBatch() {
+        SortedMap<Long, Integer> quantities = new TreeMap<>(Map.of(1L, 2, 2L, 1));
+        when(productRepository.findAllById(quantities.keySet())).thenReturn(List.of(product(1L, 5), product(2L, 1)));
+        when(productRepository.reserveStockBatch(quantities)).thenReturn(new int[]{1, 1});
+
+        Map<Long, Product> products = StockReservations.reserve(productRepository, quantities);
+
+        assertThat(products).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    void shortOrMissingProductsFailBeforeAnyUpdate() {
+        SortedMap<Long, Integer> quantities = new TreeMap<>(Map.of(1L, 2, 2L, 3, 3L, 1));
+        when(productRepository.findAllById(quantities.keySet())).thenReturn(List.of(product(1L, 5), product(2L, 1)));
+
+        assertThatThrownBy(() -> StockReservations.reserve(productRepository, quantities))
+                .isInstanceOfSatisfying(StockReservationException.class, e -> assertThat(e.getResults())
+                        .extracting(StockReservationResult::status)
+                        .containsExactly(StockReservationResult.Status.AVAILABLE,
+                                StockReservationResult.Status.INSUFFICIENT_STOCK,
+                                StockReservationResult.Status.PRODUCT_NOT_FOUND));
+        verify(productRepository, never()).reserveStockBatch(any());
+    }
+
+    @Test
+    void stockTakenConcurrentlyFailsTheProductWhoseUpdateMatchedNothing() {
+        SortedMap<Long, Integer> quantities = new TreeMap<>(Map.of(1L, 2, 2L, 1));
+        when(productRepository.findAllById(quantities.keySet())).thenReturn(List.of(product(1L, 5), product(2L, 1)));
+        when(productRepository.reserveStockBatch(quantities)).thenReturn(new int[]{1, 0});
+
+        assertThatThrownBy(() -> StockReservations.reserve(productRepository, quantities))
+                .isInstanceOfSatisfying(StockReservationException.class, e -> assertThat(e.getResults())
+                        .extracting(StockReservationResult::status)
+                        .containsExactly(StockReservationResult.Status.AVAILABLE,
+                                StockReservationResult.Status.INSUFFICIENT_STOCK));
+    }
+
+    private static OrderItemDto item(Long productId, int quantity) {
+        return new OrderItemDto(productId, quantity, new BigDecimal("10.00"));
+    }
+
+    private static Product product(Long id, int quantity) {
+        Product product = new Product();
+        product.setId(id);
+        product.setQuantity(quantity);
+        return product;
+    }
+}
@@ -0,0 +1,44 @@
+package com.eazybytes.eazystore.util;
+
+import com.eazybytes.eazystore.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        KeysetCursor cursor = new KeysetCursor("2025-01-02T10:00:00.123456Z", 42L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(KeysetCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void sortValueMayContainTheSeparator() {
+        KeysetCursor cursor = new KeysetCursor("Mug|large", 7L);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void malformedCursorIsRejectedAsInvalidRequest() {
+        String notBase64 = "***";
+        String noSeparator = new KeysetCursor("x", 1L).encode().substring(0, 2);
+        String badId = Base64.getUrlEncoder()
+                .encodeToString("2025-01-01T00:00:00Z|abc".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[] {notBase64, noSeparator, badId}) {
+            assertThatThrownBy(() -> KeysetCursor.decode(cursor))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessageStartingWith("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.eazybytes.eazystore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductAttributeNormalizerTest {
+
+    // Values as the admin form has submitted them
+    private static final List<List<String>> SUBMITTED = List.of(
+            List.of("[\"Red\",\"Blue\"]"),
+            List.of("Red", "red", "Red"),
+            List.of("#FF0000, #00ff00", "'Green'"),
+            List.of(" ,, ", ""),
+            List.of("XL", "[S,M,L]", "M"),
+            List.of("Navy Blue", "Off-White"));
+
+    @Test
+    void colorsAreSplitCleanedAndDeduplicatedInOrder() {
+        assertThat(ProductAttributeNormalizer.normalizeColors(List.of("[\"Red\",\"Blue\"]", "#FF0000", "Red")))
+                .containsExactly("Red", "Blue", "#FF0000");
+        assertThat(ProductAttributeNormalizer.normalizeColors(List.of("Navy Blue"))).containsExactly("NavyBlue");
+    }
+
+    @Test
+    void sizesLoseEveryCharacterButLettersDigitsAndCommas() {
+        assertThat(ProductAttributeNormalizer.normalizeSizes(List.of("[S, M]", "#L", "M")))
+                .containsExactly("S", "M", "L");
+    }
+
+    @Test
+    void missingOrBlankValuesGiveAnEmptyList() {
+        assertThat(ProductAttributeNormalizer.normalizeColors(null)).isEmpty();
+        assertThat(ProductAttributeNormalizer.normalizeSizes(Arrays.asList(null, " , ", ""))).isEmpty();
+    }
+
+    @Test
+    void matchesTheCleanupFormerlyAppliedOnEveryRead() {
+        for (List<String> values : SUBMITTED) {
+            assertThat(ProductAttributeNormalizer.normalizeColors(values))
+                    .isEqualTo(readTimeCleanup(values, "[^a-zA-Z0-9,#]"));
+            assertThat(ProductAttributeNormalizer.normalizeSizes(values))
+                    .isEqualTo(readTimeCleanup(values, "[^a-zA-Z0-9,]"));
+        }
+    }
+
+    @Test
+    void normalizedValuesAreLeftAsTheyAre() {
+        for (List<String> values : SUBMITTED) {
+            List<String> colors = ProductAttributeNormalizer.normalizeColors(values);
+            assertThat(ProductAttributeNormalizer.normalizeColors(colors)).isEqualTo(colors);
+        }
+    }
+
+    // The stream pipeline ProductServiceImpl.convertToDto ran before values were normalized on write
+    private static List<String> readTimeCleanup(List<String> values, String noise) {
+        return values.stream()
+                .flatMap(value -> Arrays.stream(value.replaceAll(noise, "").split(","))
+                        .map(String::trim)
+                        .filter(s -> !s.isEmpty()))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}